@@ -0,0 +1,20 @@
+package is.is_backend.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "change-feed")
+public class ChangeFeedProperties {
+
+    private Duration pollTimeout = Duration.ofSeconds(30);
+
+    private int maxLimit = 1000;
+
+    private Duration retention = Duration.ofHours(24);
+
+    private Duration cleanupInterval = Duration.ofMinutes(10);
+}
@@ -0,0 +1,21 @@
+package is.is_backend.config;
+
+import is.is_backend.models.enums.ClusterBusType;
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "cluster")
+public class ClusterProperties {
+
+    private ClusterBusType bus = ClusterBusType.IN_JVM;
+
+    private Duration pollInterval = Duration.ofMillis(250);
+
+    private int pollBatchSize = 500;
+
+    private Duration reorderTimeout = Duration.ofSeconds(1);
+}
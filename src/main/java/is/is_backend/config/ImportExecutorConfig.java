@@ -0,0 +1,43 @@
+package is.is_backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import javax.sql.DataSource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ImportExecutorConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor importTaskExecutor(ImportProperties importProperties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(importProperties.getMaxConcurrentImports());
+        executor.setMaxPoolSize(importProperties.getMaxConcurrentImports());
+        executor.setThreadNamePrefix("import-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor importPipelineExecutor(ImportProperties importProperties, DataSource dataSource) {
+        int pipelineThreads = importProperties.getValidatorThreads() + importProperties.getWriterThreads();
+        checkConnectionBudget(importProperties.getMaxConcurrentImports() + pipelineThreads, dataSource);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(pipelineThreads);
+        executor.setMaxPoolSize(pipelineThreads);
+        executor.setThreadNamePrefix("import-pipeline-");
+        executor.initialize();
+        return executor;
+    }
+
+    private void checkConnectionBudget(int importConnections, DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikariDataSource
+                && importConnections >= hikariDataSource.getMaximumPoolSize()) {
+            throw new IllegalStateException("Imports may hold " + importConnections
+                    + " connections (max-concurrent-imports + validator-threads + writer-threads), which leaves"
+                    + " none of the " + hikariDataSource.getMaximumPoolSize()
+                    + " pooled connections for other requests");
+        }
+    }
+}
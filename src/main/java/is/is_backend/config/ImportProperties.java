@@ -0,0 +1,54 @@
+package is.is_backend.config;
+
+import is.is_backend.models.enums.ImportMode;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "import")
+public class ImportProperties {
+
+    private int chunkSize = 500;
+
+    private int queueCapacity = 10;
+
+    private int validatorThreads = 2;
+
+    private int writerThreads = 4;
+
+    private int pipelineQueueCapacity = 4;
+
+    private DataSize memoryBudget = DataSize.ofMegabytes(64);
+
+    private String spillDirectory = System.getProperty("java.io.tmpdir");
+
+    private String spoolDirectory = System.getProperty("java.io.tmpdir");
+
+    private boolean resumeOnStartup = true;
+
+    private String nodeId = "local";
+
+    private Duration spoolRetention = Duration.ofHours(24);
+
+    private String hotFolder;
+
+    private ImportMode hotFolderMode = ImportMode.STREAMING;
+
+    private Duration hotFolderSettleTime = Duration.ofSeconds(2);
+
+    private int maxConcurrentImports = 8;
+
+    private int maxImportsPerClient = 2;
+
+    private int chunkSlots = 2;
+
+    private Duration admissionTimeout = Duration.ofSeconds(30);
+
+    private Map<String, Integer> clientWeights = new HashMap<>();
+}
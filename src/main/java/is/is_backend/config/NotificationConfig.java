@@ -0,0 +1,38 @@
+package is.is_backend.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+public class NotificationConfig {
+
+    @Bean
+    public ThreadPoolTaskScheduler notificationTaskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("notification-");
+        scheduler.initialize();
+        return scheduler;
+    }
+
+    @Bean
+    public ThreadPoolTaskScheduler changeFeedTaskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("change-feed-");
+        scheduler.initialize();
+        return scheduler;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor websocketSendExecutor(WebSocketProperties webSocketProperties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(webSocketProperties.getSenderThreads());
+        executor.setMaxPoolSize(webSocketProperties.getSenderThreads());
+        executor.setThreadNamePrefix("websocket-send-");
+        executor.initialize();
+        return executor;
+    }
+}
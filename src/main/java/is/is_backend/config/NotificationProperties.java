@@ -0,0 +1,24 @@
+package is.is_backend.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "notification")
+public class NotificationProperties {
+
+    private Duration debounceWindow = Duration.ofMillis(200);
+
+    private Duration maxLatency = Duration.ofSeconds(1);
+
+    private int maxBatchSize = 500;
+
+    private int eventBufferCapacity = 4096;
+
+    private Duration publishTimeout = Duration.ofSeconds(1);
+
+    private int replayBufferCapacity = 4096;
+}
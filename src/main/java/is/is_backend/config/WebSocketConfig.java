@@ -1,23 +1,67 @@
 package is.is_backend.config;
 
+import is.is_backend.websocket.PayloadFormatNegotiator;
+import is.is_backend.websocket.WebSocketSessionMonitor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final WebSocketProperties webSocketProperties;
+    private final ThreadPoolTaskScheduler notificationTaskScheduler;
+    private final WebSocketSessionMonitor webSocketSessionMonitor;
+    private final PayloadFormatNegotiator payloadFormatNegotiator;
+
+    public WebSocketConfig(
+            WebSocketProperties webSocketProperties,
+            ThreadPoolTaskScheduler notificationTaskScheduler,
+            @Lazy WebSocketSessionMonitor webSocketSessionMonitor,
+            PayloadFormatNegotiator payloadFormatNegotiator) {
+        this.webSocketProperties = webSocketProperties;
+        this.notificationTaskScheduler = notificationTaskScheduler;
+        this.webSocketSessionMonitor = webSocketSessionMonitor;
+        this.payloadFormatNegotiator = payloadFormatNegotiator;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic");
+        long heartbeat = webSocketProperties.getHeartbeat().toMillis();
+        config.enableSimpleBroker("/topic")
+                .setHeartbeatValue(new long[] {heartbeat, heartbeat})
+                .setTaskScheduler(notificationTaskScheduler);
         config.setApplicationDestinationPrefixes("/app");
     }
 
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration
+                .setSendTimeLimit((int) webSocketProperties.getSendTimeLimit().toMillis())
+                .setSendBufferSizeLimit(
+                        (int) webSocketProperties.getSendBufferSizeLimit().toBytes())
+                .setMessageSizeLimit(
+                        (int) webSocketProperties.getMessageSizeLimit().toBytes())
+                .addDecoratorFactory(webSocketSessionMonitor::decorate);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.interceptors(payloadFormatNegotiator);
+    }
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws").setAllowedOriginPatterns("*").withSockJS();
+        registry.addEndpoint(webSocketProperties.getNativeEndpoint())
+                .setAllowedOriginPatterns("*")
+                .addInterceptors(payloadFormatNegotiator);
     }
 }
@@ -0,0 +1,36 @@
+package is.is_backend.config;
+
+import is.is_backend.models.enums.OutboundOverflowPolicy;
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "websocket")
+public class WebSocketProperties {
+
+    private String nativeEndpoint = "/ws-native";
+
+    private boolean cborPayloads = true;
+
+    private int outboundQueueLimit = 256;
+
+    private OutboundOverflowPolicy overflowPolicy = OutboundOverflowPolicy.DROP_OLDEST;
+
+    private int senderThreads = 4;
+
+    private Duration sendTimeLimit = Duration.ofSeconds(10);
+
+    private Duration blockingSendTimeout = Duration.ofSeconds(2);
+
+    private DataSize sendBufferSizeLimit = DataSize.ofKilobytes(512);
+
+    private DataSize messageSizeLimit = DataSize.ofKilobytes(64);
+
+    private Duration heartbeat = Duration.ofSeconds(10);
+
+    private Duration idleTimeout = Duration.ofMinutes(1);
+}
@@ -0,0 +1,46 @@
+package is.is_backend.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import is.is_backend.dto.changeEventDto.ChangeFeedDTO;
+import is.is_backend.service.ChangeFeedService;
+import lombok.AllArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+@RestController
+@RequestMapping("api/changes")
+@AllArgsConstructor
+@Tag(name = "Change Feed API", description = "API для инкрементальной синхронизации по журналу изменений")
+public class ChangeFeedController {
+
+    private ChangeFeedService changeFeedService;
+
+    @Operation(
+            summary = "Чтение журнала изменений",
+            description = "Возвращает изменения с позицией больше since. Если новых изменений нет, запрос ожидает"
+                    + " их появления до таймаута и возвращает пустой список с прежним курсором.")
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Изменения успешно получены",
+                        content = @Content(schema = @Schema(implementation = ChangeFeedDTO.class))),
+                @ApiResponse(responseCode = "400", description = "Некорректные since или limit")
+            })
+    @GetMapping
+    public DeferredResult<ChangeFeedDTO> getChanges(
+            @Parameter(description = "Курсор последнего полученного изменения", example = "0")
+                    @RequestParam(value = "since", defaultValue = "0")
+                    long since,
+            @Parameter(description = "Максимальное количество изменений в ответе", example = "100")
+                    @RequestParam(value = "limit", defaultValue = "100")
+                    int limit) {
+        return changeFeedService.poll(since, limit);
+    }
+}
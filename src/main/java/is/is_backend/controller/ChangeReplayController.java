@@ -0,0 +1,20 @@
+package is.is_backend.controller;
+
+import is.is_backend.dto.changeEventDto.ChangeReplayDTO;
+import is.is_backend.event.ChangeReplayBuffer;
+import lombok.AllArgsConstructor;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.stereotype.Controller;
+
+@Controller
+@AllArgsConstructor
+public class ChangeReplayController {
+
+    private ChangeReplayBuffer changeReplayBuffer;
+
+    @SubscribeMapping("/changes/replay")
+    public ChangeReplayDTO replayChanges(@Header(name = "since", defaultValue = "0") long since) {
+        return changeReplayBuffer.replaySince(since);
+    }
+}
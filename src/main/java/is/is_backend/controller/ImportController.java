@@ -8,46 +8,191 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import is.is_backend.dto.importHistoryDto.ImportHistoryResponseDTO;
+import is.is_backend.dto.importHistoryDto.ImportRowErrorDTO;
+import is.is_backend.models.ImportHistory;
+import is.is_backend.models.enums.ImportMode;
 import is.is_backend.service.ImportHistoryService;
 import is.is_backend.service.ImportService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("api/import")
 @AllArgsConstructor
-@Tag(name = "Import API", description = "API для управления импортом данных организаций из JSON файлов")
+@Tag(name = "Import API", description = "API для управления импортом данных организаций из файлов JSON, NDJSON и CSV")
 public class ImportController {
 
+    private static final String CLIENT_ID_HEADER = "X-Client-Id";
+
     private ImportService importService;
     private ImportHistoryService importHistoryService;
 
     @Operation(
             summary = "Импорт организаций из файла",
-            description = "Загружает JSON файл с организациями и импортирует их в систему.")
+            description = "Загружает файл с организациями (JSON, NDJSON или CSV, в том числе сжатый gzip) и"
+                    + " импортирует их в систему. В режиме STREAMING файл"
+                    + " читается поэлементно и фиксируется порциями, без ограничения на количество объектов.")
     @ApiResponses(
             value = {
                 @ApiResponse(
                         responseCode = "200",
-                        description = "Файл успешно импортирован",
-                        content = @Content(schema = @Schema(implementation = String.class)))
+                        description = "Файл успешно импортирован или уже был импортирован ранее",
+                        content = @Content(schema = @Schema(implementation = String.class))),
+                @ApiResponse(responseCode = "409", description = "Этот же файл сейчас импортируется другим импортом"),
+                @ApiResponse(responseCode = "429", description = "Исчерпана квота одновременных импортов клиента"),
+                @ApiResponse(responseCode = "503", description = "Достигнут общий лимит одновременных импортов")
             })
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<String> importOrganizations(
             @Parameter(
-                            description = "JSON файл с данными организаций",
+                            description = "Файл с данными организаций: JSON, NDJSON или CSV, допускается сжатие gzip",
                             required = true,
                             content = @Content(mediaType = MediaType.MULTIPART_FORM_DATA_VALUE))
                     @RequestParam("file")
-                    MultipartFile file) {
-        importService.processImport(file);
+                    MultipartFile file,
+            @Parameter(
+                            description = "Режим импорта: ATOMIC - одной транзакцией, STREAMING - потоково порциями,"
+                                    + " PARALLEL - конвейером с параллельной проверкой и записью,"
+                                    + " UPSERT - с обновлением существующих организаций по fullName",
+                            example = "ATOMIC")
+                    @RequestParam(defaultValue = "ATOMIC")
+                    ImportMode mode,
+            @Parameter(description = "Идентификатор клиента для квот и очередности импорта", example = "crm-export")
+                    @RequestHeader(value = CLIENT_ID_HEADER, required = false)
+                    String clientId,
+            HttpServletRequest request) {
+        ImportHistory importHistory = mode == ImportMode.ATOMIC
+                ? importService.processImport(file, resolveClientId(clientId, request))
+                : importService.processStreamingImport(file, mode, resolveClientId(clientId, request));
+        if (importHistory.getDuplicateOfId() != null) {
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_LOCATION, "/api/import/" + importHistory.getDuplicateOfId())
+                    .body(importHistory.getMessage());
+        }
         return ResponseEntity.ok("Imported successfully");
     }
 
+    @Operation(
+            summary = "Асинхронный импорт организаций из файла",
+            description = "Принимает файл с организациями, ставит задачу импорта в очередь и сразу возвращает ее"
+                    + " идентификатор. Прогресс публикуется в топик /topic/import/{jobId}.")
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "202",
+                        description = "Задача импорта поставлена в очередь",
+                        content = @Content(schema = @Schema(implementation = ImportHistoryResponseDTO.class))),
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Файл уже был успешно импортирован, duplicateOfId указывает на тот импорт",
+                        content = @Content(schema = @Schema(implementation = ImportHistoryResponseDTO.class))),
+                @ApiResponse(responseCode = "409", description = "Этот же файл сейчас импортируется другим импортом")
+            })
+    @PostMapping(value = "/async", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportHistoryResponseDTO> submitImportJob(
+            @Parameter(
+                            description = "Файл с данными организаций: JSON, NDJSON или CSV, допускается сжатие gzip",
+                            required = true,
+                            content = @Content(mediaType = MediaType.MULTIPART_FORM_DATA_VALUE))
+                    @RequestParam("file")
+                    MultipartFile file,
+            @Parameter(
+                            description = "Режим импорта: STREAMING - потоково порциями, PARALLEL - конвейером с"
+                                    + " параллельной проверкой и записью, UPSERT - с обновлением существующих"
+                                    + " организаций по fullName",
+                            example = "STREAMING")
+                    @RequestParam(defaultValue = "STREAMING")
+                    ImportMode mode,
+            @Parameter(description = "Идентификатор клиента для квот и очередности импорта", example = "crm-export")
+                    @RequestHeader(value = CLIENT_ID_HEADER, required = false)
+                    String clientId,
+            HttpServletRequest request) {
+        ImportHistoryResponseDTO job = importService.submitImportJob(file, mode, resolveClientId(clientId, request));
+        if (job.getDuplicateOfId() != null) {
+            return ResponseEntity.ok(job);
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    @Operation(
+            summary = "Возобновление прерванного импорта",
+            description = "Повторно ставит в очередь асинхронный импорт в режиме STREAMING или UPSERT, который был"
+                    + " прерван или завершился ошибкой. Импорт продолжается с последней зафиксированной порции"
+                    + " сохраненного файла, без повторной загрузки. Импорт в режиме PARALLEL возобновить нельзя:"
+                    + " порции в нем фиксируются не по порядку, файл нужно загрузить заново.")
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "202",
+                        description = "Задача импорта снова поставлена в очередь",
+                        content = @Content(schema = @Schema(implementation = ImportHistoryResponseDTO.class))),
+                @ApiResponse(
+                        responseCode = "409",
+                        description = "Импорт уже завершен, выполняется, выполнялся в режиме PARALLEL или не может"
+                                + " быть возобновлен")
+            })
+    @PostMapping("/{jobId}/resume")
+    public ResponseEntity<ImportHistoryResponseDTO> resumeImportJob(
+            @Parameter(description = "ID задачи импорта", required = true, example = "1") @PathVariable("jobId")
+                    Long jobId) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(importService.resumeImport(jobId));
+    }
+
+    @Operation(
+            summary = "Проверка файла импорта без записи",
+            description = "Выполняет все проверки импорта по всему файлу, ничего не сохраняя, и потоково возвращает"
+                    + " отчет в формате NDJSON: по одной строке {row, message} на каждую ошибку.")
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Отчет о проверке файла",
+                        content =
+                                @Content(
+                                        mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                        schema = @Schema(implementation = ImportRowErrorDTO.class)))
+            })
+    @PostMapping(
+            value = "/dry-run",
+            consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> validateImport(
+            @Parameter(
+                            description = "Файл с данными организаций: JSON, NDJSON или CSV, допускается сжатие gzip",
+                            required = true,
+                            content = @Content(mediaType = MediaType.MULTIPART_FORM_DATA_VALUE))
+                    @RequestParam("file")
+                    MultipartFile file) {
+        StreamingResponseBody report = importService.validateImport(file);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(report);
+    }
+
+    @Operation(
+            summary = "Получение состояния импорта",
+            description = "Возвращает статус и количество обработанных записей задачи импорта по id")
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Состояние импорта успешно получено",
+                        content = @Content(schema = @Schema(implementation = ImportHistoryResponseDTO.class)))
+            })
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ImportHistoryResponseDTO> getImportJob(
+            @Parameter(description = "ID задачи импорта", required = true, example = "1") @PathVariable("jobId")
+                    Long jobId) {
+        return ResponseEntity.ok(importHistoryService.getImportHistory(jobId));
+    }
+
     @Operation(
             summary = "Получение истории импортов",
             description = "Возвращает пагинированный список всех операций импорта")
@@ -70,4 +215,8 @@ public class ImportController {
 
         return ResponseEntity.ok(historyPage);
     }
+
+    private String resolveClientId(String clientId, HttpServletRequest request) {
+        return StringUtils.hasText(clientId) ? clientId : request.getRemoteAddr();
+    }
 }
@@ -0,0 +1,37 @@
+package is.is_backend.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import is.is_backend.dto.websocketDto.WebSocketMetricsDTO;
+import is.is_backend.websocket.WebSocketSessionMonitor;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("api/websocket")
+@AllArgsConstructor
+@Tag(name = "WebSocket API", description = "API для мониторинга доставки уведомлений по WebSocket")
+public class WebSocketMetricsController {
+
+    private WebSocketSessionMonitor webSocketSessionMonitor;
+
+    @Operation(
+            summary = "Получение метрик WebSocket",
+            description = "Возвращает количество сессий, глубину исходящих очередей и число отброшенных сообщений")
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Метрики успешно получены",
+                        content = @Content(schema = @Schema(implementation = WebSocketMetricsDTO.class)))
+            })
+    @GetMapping("/metrics")
+    public ResponseEntity<WebSocketMetricsDTO> getMetrics() {
+        return ResponseEntity.ok(webSocketSessionMonitor.getMetrics());
+    }
+}
@@ -0,0 +1,39 @@
+package is.is_backend.dto.changeEventDto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import is.is_backend.models.enums.ChangeEntityType;
+import is.is_backend.models.enums.ChangeOperation;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(
+        description = "Событие изменения данных, публикуется в топики /topic/changes, /topic/{entityType}"
+                + " и /topic/{entityType}/{id}")
+public class ChangeEventDTO {
+    @Schema(description = "Тип измененной сущности", example = "ORGANIZATION")
+    private ChangeEntityType entityType;
+
+    @Schema(description = "Операция: CREATED, UPDATED, DELETED или IMPORTED для порции импорта", example = "UPDATED")
+    private ChangeOperation operation;
+
+    @Schema(description = "ID измененной сущности, для IMPORTED отсутствует", example = "1")
+    private Long id;
+
+    @Schema(description = "ID импорта для IMPORTED, для остальных операций отсутствует", example = "7")
+    private Long importId;
+
+    @Schema(
+            description = "Порядковый номер события, возрастает в порядке фиксации транзакций. Совпадает с позицией"
+                    + " в журнале изменений и одинаков на всех узлах",
+            example = "42")
+    private Long sequence;
+
+    @Schema(description = "Данные сущности после изменения (для DELETED - до удаления), для IMPORTED отсутствуют")
+    private Object payload;
+}
@@ -0,0 +1,23 @@
+package is.is_backend.dto.changeEventDto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Порция журнала изменений, прочитанная после переданного курсора")
+public class ChangeFeedDTO {
+    @Schema(
+            description = "Курсор для следующего запроса: sequence последнего события или переданный since",
+            example = "42")
+    private long cursor;
+
+    @Schema(description = "События в порядке фиксации транзакций, sequence события - его позиция в журнале")
+    private List<ChangeEventDTO> events;
+}
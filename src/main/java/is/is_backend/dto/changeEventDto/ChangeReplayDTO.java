@@ -0,0 +1,26 @@
+package is.is_backend.dto.changeEventDto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Ответ на подписку /app/changes/replay с событиями, пропущенными клиентом")
+public class ChangeReplayDTO {
+    @Schema(
+            description = "true, если пропущенные события уже вытеснены из буфера и клиенту нужно перезагрузить данные",
+            example = "false")
+    private boolean reloadRequired;
+
+    @Schema(description = "Номер последнего опубликованного события", example = "42")
+    private long lastSequence;
+
+    @Schema(description = "События с номером больше переданного since в порядке возрастания")
+    private List<ChangeEventDTO> events;
+}
@@ -2,6 +2,7 @@ package is.is_backend.dto.importHistoryDto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import io.swagger.v3.oas.annotations.media.Schema;
+import is.is_backend.models.enums.ImportMode;
 import java.time.ZonedDateTime;
 import lombok.Data;
 
@@ -15,9 +16,63 @@ public class ImportHistoryResponseDTO {
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd.MM.yyyy HH:mm")
     private ZonedDateTime creationDate;
 
-    @Schema(description = "Статус импорта", example = "0")
+    @Schema(
+            description = "Статус импорта: 0 - успешно, 1 - ошибка, 2 - выполняется, 3 - в очереди, 4 - пропущен",
+            example = "0")
     private Integer status;
 
     @Schema(description = "Количество обработанных записей", example = "10")
     private Integer counter;
+
+    @Schema(description = "Режим импорта", example = "STREAMING")
+    private ImportMode importMode;
+
+    @Schema(description = "Идентификатор клиента, загрузившего файл", example = "127.0.0.1")
+    private String clientId;
+
+    @Schema(description = "Сообщение об ошибке импорта", example = "Import failed (error in object 3).")
+    private String message;
+
+    @Schema(
+            description = "SHA-256 хеш содержимого загруженного файла",
+            example = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08")
+    private String fileHash;
+
+    @Schema(description = "ID успешного импорта этого же файла, если загрузка была пропущена", example = "1")
+    private Long duplicateOfId;
+
+    @Schema(description = "Общая длительность импорта в миллисекундах", example = "5230")
+    private Long durationMillis;
+
+    @Schema(description = "Время разбора файла в миллисекундах", example = "410")
+    private Long parseMillis;
+
+    @Schema(description = "Время построения объектов и разрешения ссылок в миллисекундах", example = "620")
+    private Long resolveMillis;
+
+    @Schema(description = "Время проверок уникальности и ограничений в миллисекундах", example = "380")
+    private Long validateMillis;
+
+    @Schema(description = "Время записи в базу данных в миллисекундах", example = "3700")
+    private Long insertMillis;
+
+    @Schema(
+            description = "Время сохранения прогресса импорта после каждой порции и уведомлений о нем в миллисекундах",
+            example = "120")
+    private Long checkpointMillis;
+
+    @Schema(
+            description = "Скорость импорта, записей в секунду. Для возобновленного импорта учитываются только"
+                    + " записи, сохраненные после возобновления",
+            example = "956.0")
+    private Double rowsPerSecond;
+
+    @Schema(description = "Количество прочитанных байт загруженного файла", example = "1048576")
+    private Long bytesRead;
+
+    @Schema(description = "Количество зафиксированных порций", example = "10")
+    private Integer chunkCount;
+
+    @Schema(description = "Наибольшее количество записей, сохраненных одной порцией", example = "500")
+    private Integer peakBatchSize;
 }
@@ -0,0 +1,18 @@
+package is.is_backend.dto.importHistoryDto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Ошибка в объекте импортируемого файла")
+public class ImportRowErrorDTO {
+    @Schema(description = "Номер объекта в файле (начинается с 1)", example = "3")
+    private Integer row;
+
+    @Schema(description = "Описание ошибки", example = "Organization with fullName Atom already exists")
+    private String message;
+}
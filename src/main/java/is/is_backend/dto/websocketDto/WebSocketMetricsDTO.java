@@ -0,0 +1,40 @@
+package is.is_backend.dto.websocketDto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Метрики исходящей доставки WebSocket сообщений")
+public class WebSocketMetricsDTO {
+    @Schema(description = "Количество открытых WebSocket сессий", example = "12")
+    private int activeSessions;
+
+    @Schema(description = "Суммарное количество сообщений в исходящих очередях сессий", example = "3")
+    private int queuedMessages;
+
+    @Schema(description = "Максимальная глубина исходящей очереди среди сессий", example = "2")
+    private int maxQueueDepth;
+
+    @Schema(
+            description = "Количество сообщений, отброшенных из-за переполнения очереди или закрытия сессии",
+            example = "0")
+    private long droppedMessages;
+
+    @Schema(description = "Количество сессий, закрытых как медленные потребители", example = "0")
+    private long terminatedSlowSessions;
+
+    @Schema(description = "Количество сессий, закрытых по таймауту бездействия", example = "0")
+    private long evictedIdleSessions;
+
+    @Schema(description = "Количество событий изменения, отброшенных при переполнении шины событий", example = "0")
+    private long droppedChangeEvents;
+
+    @Schema(description = "Количество пакетов событий, которые не удалось обработать подписчику шины", example = "0")
+    private long failedChangeDeliveries;
+}
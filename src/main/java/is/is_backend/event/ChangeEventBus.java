@@ -0,0 +1,216 @@
+package is.is_backend.event;
+
+import is.is_backend.config.NotificationProperties;
+import is.is_backend.dto.changeEventDto.ChangeEventDTO;
+import is.is_backend.models.enums.ChangeEntityType;
+import is.is_backend.models.enums.ChangeOperation;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Component
+public class ChangeEventBus {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ChangeEventBus.class);
+
+    private final List<ChangeEventListener> listeners;
+    private final ChangeOutbox changeOutbox;
+    private final ClusterEventBus clusterEventBus;
+    private final TransactionTemplate transactionTemplate;
+    private final ChangeEventDTO[] buffer;
+    private final long publishTimeoutNanos;
+    private final int maxDrainSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private long head;
+    private long tail;
+    private long droppedEvents;
+    private long failedDeliveries;
+    private boolean running;
+    private Thread consumer;
+
+    public ChangeEventBus(
+            List<ChangeEventListener> listeners,
+            ChangeOutbox changeOutbox,
+            ClusterEventBus clusterEventBus,
+            TransactionTemplate transactionTemplate,
+            NotificationProperties notificationProperties) {
+        this.listeners = listeners;
+        this.changeOutbox = changeOutbox;
+        this.clusterEventBus = clusterEventBus;
+        this.transactionTemplate = transactionTemplate;
+        this.buffer = new ChangeEventDTO[notificationProperties.getEventBufferCapacity()];
+        this.publishTimeoutNanos = notificationProperties.getPublishTimeout().toNanos();
+        this.maxDrainSize = notificationProperties.getMaxBatchSize();
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        consumer = new Thread(this::consume, "change-event-bus");
+        consumer.setDaemon(true);
+        consumer.start();
+        clusterEventBus.subscribe(this::enqueue);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        lock.lock();
+        try {
+            running = false;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        consumer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    public void publish(ChangeEntityType entityType, ChangeOperation operation, Long id, Object payload) {
+        publish(new ChangeEventDTO(entityType, operation, id, null, null, payload));
+    }
+
+    public void publishImported(ChangeEntityType entityType, long importId) {
+        publish(new ChangeEventDTO(entityType, ChangeOperation.IMPORTED, null, importId, null, null));
+    }
+
+    private void publish(ChangeEventDTO event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            transactionEvents().add(event);
+        } else {
+            transactionTemplate.executeWithoutResult(
+                    status -> transactionEvents().add(event));
+        }
+    }
+
+    public long getDroppedEvents() {
+        lock.lock();
+        try {
+            return droppedEvents;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getFailedDeliveries() {
+        lock.lock();
+        try {
+            return failedDeliveries;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ChangeEventDTO> transactionEvents() {
+        List<ChangeEventDTO> events = (List<ChangeEventDTO>) TransactionSynchronizationManager.getResource(this);
+        if (events == null) {
+            List<ChangeEventDTO> pending = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    changeOutbox.append(pending);
+                }
+
+                @Override
+                public void afterCommit() {
+                    clusterEventBus.publish(pending);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ChangeEventBus.this);
+                }
+            });
+            events = pending;
+        }
+        return events;
+    }
+
+    private void enqueue(List<ChangeEventDTO> events) {
+        lock.lock();
+        try {
+            long remaining = publishTimeoutNanos;
+            for (ChangeEventDTO event : events) {
+                while (tail - head == buffer.length && remaining > 0) {
+                    remaining = notFull.awaitNanos(remaining);
+                }
+                if (tail - head == buffer.length) {
+                    droppedEvents++;
+                    continue;
+                }
+                buffer[(int) (tail++ % buffer.length)] = event;
+                notEmpty.signal();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void consume() {
+        List<ChangeEventDTO> batch;
+        while ((batch = drain()) != null) {
+            for (ChangeEventListener listener : listeners) {
+                try {
+                    listener.onChanges(batch);
+                } catch (RuntimeException e) {
+                    // a failing listener must not stop delivery to the others
+                    deliveryFailed(listener, batch, e);
+                }
+            }
+        }
+    }
+
+    private void deliveryFailed(ChangeEventListener listener, List<ChangeEventDTO> batch, RuntimeException e) {
+        lock.lock();
+        try {
+            failedDeliveries++;
+        } finally {
+            lock.unlock();
+        }
+        LOG.error(
+                "Change listener {} failed to handle {} events",
+                listener.getClass().getName(),
+                batch.size(),
+                e);
+    }
+
+    private List<ChangeEventDTO> drain() {
+        lock.lock();
+        try {
+            while (tail == head) {
+                if (!running) {
+                    return null;
+                }
+                notEmpty.await();
+            }
+            int size = (int) Math.min(tail - head, maxDrainSize);
+            List<ChangeEventDTO> batch = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                int slot = (int) (head++ % buffer.length);
+                batch.add(buffer[slot]);
+                buffer[slot] = null;
+            }
+            notFull.signalAll();
+            return batch;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
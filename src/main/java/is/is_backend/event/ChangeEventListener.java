@@ -0,0 +1,9 @@
+package is.is_backend.event;
+
+import is.is_backend.dto.changeEventDto.ChangeEventDTO;
+import java.util.List;
+
+public interface ChangeEventListener {
+
+    void onChanges(List<ChangeEventDTO> events);
+}
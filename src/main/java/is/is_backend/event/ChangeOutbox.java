@@ -0,0 +1,126 @@
+package is.is_backend.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import is.is_backend.dto.changeEventDto.ChangeEventDTO;
+import is.is_backend.exception.MyException;
+import is.is_backend.models.ChangeFeedHead;
+import is.is_backend.models.ChangeOutboxEntry;
+import is.is_backend.repository.ChangeFeedHeadRepository;
+import is.is_backend.repository.ChangeOutboxRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Component
+@AllArgsConstructor
+public class ChangeOutbox {
+
+    private static final int HEAD_ID = 1;
+
+    private final ChangeOutboxRepository changeOutboxRepository;
+    private final ChangeFeedHeadRepository changeFeedHeadRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @PostConstruct
+    public void createHead() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!changeFeedHeadRepository.existsById(HEAD_ID)) {
+                    changeFeedHeadRepository.save(
+                            new ChangeFeedHead(HEAD_ID, changeOutboxRepository.findLastPosition()));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // another node has just created the head row
+        }
+    }
+
+    public void append(List<ChangeEventDTO> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        // Positions are taken from the head row, which stays locked until this transaction ends, so they are
+        // visible in commit order without gaps. The transaction's own writes are flushed first to keep that
+        // lock held only for the outbox insert and the commit itself.
+        entityManager.flush();
+        changeFeedHeadRepository.advance(HEAD_ID, events.size());
+        long position = changeFeedHeadRepository.findPosition(HEAD_ID) - events.size();
+        List<ChangeOutboxEntry> entries = new ArrayList<>(events.size());
+        for (ChangeEventDTO event : events) {
+            ChangeOutboxEntry entry = new ChangeOutboxEntry();
+            entry.setPosition(++position);
+            event.setSequence(position);
+            entry.setEntityType(event.getEntityType());
+            entry.setOperation(event.getOperation());
+            entry.setEntityId(event.getId());
+            entry.setImportId(event.getImportId());
+            entry.setPayload(writePayload(event.getPayload()));
+            entries.add(entry);
+        }
+        changeOutboxRepository.saveAll(entries);
+    }
+
+    public List<ChangeEventDTO> readSince(long cursor, int limit) {
+        List<ChangeEventDTO> events = new ArrayList<>();
+        for (ChangeOutboxEntry entry : entriesSince(cursor, limit)) {
+            events.add(toEvent(entry));
+        }
+        return events;
+    }
+
+    public List<ChangeOutboxEntry> entriesSince(long cursor, int limit) {
+        return changeOutboxRepository.findByPositionGreaterThanOrderByPositionAsc(cursor, PageRequest.of(0, limit));
+    }
+
+    public ChangeEventDTO toEvent(ChangeOutboxEntry entry) {
+        return new ChangeEventDTO(
+                entry.getEntityType(),
+                entry.getOperation(),
+                entry.getEntityId(),
+                entry.getImportId(),
+                entry.getPosition(),
+                readPayload(entry.getPayload()));
+    }
+
+    public long lastPosition() {
+        return changeOutboxRepository.findLastPosition();
+    }
+
+    public int deleteOlderThan(Duration retention) {
+        return changeOutboxRepository.deleteCreatedBefore(ZonedDateTime.now().minus(retention));
+    }
+
+    private String writePayload(Object payload) {
+        if (payload == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new MyException("Failed to write change payload", HttpStatus.INTERNAL_SERVER_ERROR, e);
+        }
+    }
+
+    private Object readPayload(String payload) {
+        if (payload == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(payload);
+        } catch (JsonProcessingException e) {
+            throw new MyException("Failed to read change payload", HttpStatus.INTERNAL_SERVER_ERROR, e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package is.is_backend.event;
+
+import is.is_backend.config.NotificationProperties;
+import is.is_backend.dto.changeEventDto.ChangeEventDTO;
+import is.is_backend.dto.changeEventDto.ChangeReplayDTO;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ChangeReplayBuffer implements ChangeEventListener {
+
+    private final ChangeEventDTO[] events;
+    private int head;
+    private int size;
+    private long evictedSequence = -1;
+    private long lastSequence;
+
+    public ChangeReplayBuffer(NotificationProperties notificationProperties) {
+        this.events = new ChangeEventDTO[notificationProperties.getReplayBufferCapacity()];
+    }
+
+    @Override
+    public synchronized void onChanges(List<ChangeEventDTO> batch) {
+        for (ChangeEventDTO event : batch) {
+            if (evictedSequence < 0) {
+                evictedSequence = event.getSequence() - 1;
+            }
+            if (size == events.length) {
+                evictedSequence = events[head].getSequence();
+                events[head] = null;
+                head = (head + 1) % events.length;
+                size--;
+            }
+            events[(head + size++) % events.length] = event;
+            lastSequence = event.getSequence();
+        }
+    }
+
+    public synchronized ChangeReplayDTO replaySince(long since) {
+        if (since > lastSequence || since < evictedSequence) {
+            return new ChangeReplayDTO(true, lastSequence, List.of());
+        }
+        List<ChangeEventDTO> missed = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            ChangeEventDTO event = events[(head + i) % events.length];
+            if (event.getSequence() > since) {
+                missed.add(event);
+            }
+        }
+        return new ChangeReplayDTO(false, lastSequence, missed);
+    }
+}
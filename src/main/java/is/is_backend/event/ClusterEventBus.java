@@ -0,0 +1,11 @@
+package is.is_backend.event;
+
+import is.is_backend.dto.changeEventDto.ChangeEventDTO;
+import java.util.List;
+
+public interface ClusterEventBus {
+
+    void subscribe(ChangeEventListener receiver);
+
+    void publish(List<ChangeEventDTO> events);
+}
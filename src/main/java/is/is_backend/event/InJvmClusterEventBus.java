@@ -0,0 +1,81 @@
+package is.is_backend.event;
+
+import is.is_backend.config.ClusterProperties;
+import is.is_backend.dto.changeEventDto.ChangeEventDTO;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ScheduledFuture;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(prefix = "cluster", name = "bus", havingValue = "in_jvm", matchIfMissing = true)
+public class InJvmClusterEventBus implements ClusterEventBus {
+
+    private final ChangeOutbox changeOutbox;
+    private final ClusterProperties clusterProperties;
+    private final ThreadPoolTaskScheduler gapTimer = new ThreadPoolTaskScheduler();
+    private final TreeMap<Long, List<ChangeEventDTO>> pending = new TreeMap<>();
+    private ChangeEventListener receiver;
+    private long nextSequence;
+    private long gapSequence;
+    private ScheduledFuture<?> gapCheck;
+
+    public InJvmClusterEventBus(ChangeOutbox changeOutbox, ClusterProperties clusterProperties) {
+        this.changeOutbox = changeOutbox;
+        this.clusterProperties = clusterProperties;
+        gapTimer.setThreadNamePrefix("cluster-event-bus-");
+        gapTimer.setDaemon(true);
+    }
+
+    @Override
+    public synchronized void subscribe(ChangeEventListener receiver) {
+        this.receiver = receiver;
+        nextSequence = changeOutbox.lastPosition() + 1;
+        gapTimer.initialize();
+    }
+
+    @Override
+    public synchronized void publish(List<ChangeEventDTO> events) {
+        Long sequence = events.get(0).getSequence();
+        if (sequence == null || sequence < nextSequence) {
+            receiver.onChanges(events);
+            return;
+        }
+        pending.put(sequence, events);
+        deliverPending();
+    }
+
+    @PreDestroy
+    public void stop() {
+        gapTimer.shutdown();
+    }
+
+    // Transactions commit in sequence order but may reach afterCommit in any order, so a batch waits for the
+    // ones before it. A gap left by a batch that is never published here is skipped after reorder-timeout.
+    private void deliverPending() {
+        while (!pending.isEmpty() && pending.firstKey() == nextSequence) {
+            deliver(pending.pollFirstEntry().getValue());
+        }
+        if (!pending.isEmpty() && gapCheck == null) {
+            gapSequence = nextSequence;
+            gapCheck = gapTimer.schedule(this::skipGap, Instant.now().plus(clusterProperties.getReorderTimeout()));
+        }
+    }
+
+    private synchronized void skipGap() {
+        gapCheck = null;
+        if (!pending.isEmpty() && nextSequence == gapSequence) {
+            deliver(pending.pollFirstEntry().getValue());
+        }
+        deliverPending();
+    }
+
+    private void deliver(List<ChangeEventDTO> events) {
+        nextSequence = events.get(events.size() - 1).getSequence() + 1;
+        receiver.onChanges(events);
+    }
+}
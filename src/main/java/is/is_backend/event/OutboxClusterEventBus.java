@@ -0,0 +1,70 @@
+package is.is_backend.event;
+
+import is.is_backend.config.ClusterProperties;
+import is.is_backend.config.NotificationProperties;
+import is.is_backend.dto.changeEventDto.ChangeEventDTO;
+import is.is_backend.models.ChangeOutboxEntry;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(prefix = "cluster", name = "bus", havingValue = "outbox")
+public class OutboxClusterEventBus implements ClusterEventBus {
+
+    private final ChangeOutbox changeOutbox;
+    private final ClusterProperties clusterProperties;
+    private final NotificationProperties notificationProperties;
+    private final ThreadPoolTaskScheduler poller = new ThreadPoolTaskScheduler();
+    private volatile ChangeEventListener receiver;
+    private long cursor;
+
+    public OutboxClusterEventBus(
+            ChangeOutbox changeOutbox,
+            ClusterProperties clusterProperties,
+            NotificationProperties notificationProperties) {
+        this.changeOutbox = changeOutbox;
+        this.clusterProperties = clusterProperties;
+        this.notificationProperties = notificationProperties;
+        poller.setThreadNamePrefix("cluster-event-bus-");
+        poller.setDaemon(true);
+    }
+
+    @Override
+    public void subscribe(ChangeEventListener receiver) {
+        this.receiver = receiver;
+        // start one replay buffer back, so changes committed just before this node started are delivered
+        // and clients moving over from another node can be replayed
+        cursor = Math.max(0, changeOutbox.lastPosition() - notificationProperties.getReplayBufferCapacity());
+        poller.initialize();
+        poller.scheduleWithFixedDelay(this::poll, clusterProperties.getPollInterval());
+    }
+
+    @Override
+    public void publish(List<ChangeEventDTO> events) {
+        poller.execute(this::poll);
+    }
+
+    @PreDestroy
+    public void stop() {
+        poller.shutdown();
+    }
+
+    private void poll() {
+        List<ChangeOutboxEntry> entries;
+        do {
+            entries = changeOutbox.entriesSince(cursor, clusterProperties.getPollBatchSize());
+            List<ChangeEventDTO> events = new ArrayList<>(entries.size());
+            for (ChangeOutboxEntry entry : entries) {
+                cursor = entry.getPosition();
+                events.add(changeOutbox.toEvent(entry));
+            }
+            if (!events.isEmpty()) {
+                receiver.onChanges(events);
+            }
+        } while (entries.size() == clusterProperties.getPollBatchSize());
+    }
+}
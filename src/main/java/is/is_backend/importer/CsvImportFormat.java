@@ -0,0 +1,70 @@
+package is.is_backend.importer;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import is.is_backend.dto.organizationDto.OrganizationRequestDTO;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@AllArgsConstructor
+public class CsvImportFormat implements ImportFormat {
+
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+    private static final CsvSchema SCHEMA = CsvSchema.emptySchema().withHeader();
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public List<String> getExtensions() {
+        return List.of(".csv");
+    }
+
+    @Override
+    public List<String> getContentTypes() {
+        return List.of("text/csv");
+    }
+
+    @Override
+    public ImportReader open(InputStream inputStream) throws IOException {
+        MappingIterator<Map<String, String>> iterator =
+                CSV_MAPPER.readerForMapOf(String.class).with(SCHEMA).readValues(inputStream);
+        return new ImportReader() {
+            @Override
+            public OrganizationRequestDTO next() throws IOException {
+                if (!iterator.hasNextValue()) {
+                    return null;
+                }
+                return objectMapper.treeToValue(unflatten(iterator.nextValue()), OrganizationRequestDTO.class);
+            }
+
+            @Override
+            public void close() throws IOException {
+                iterator.close();
+            }
+        };
+    }
+
+    private ObjectNode unflatten(Map<String, String> row) {
+        ObjectNode root = objectMapper.createObjectNode();
+        row.forEach((column, value) -> {
+            if (value == null || value.isEmpty()) {
+                return;
+            }
+            String[] path = column.trim().split("\\.");
+            ObjectNode node = root;
+            for (int i = 0; i < path.length - 1; i++) {
+                node = node.withObjectProperty(path[i]);
+            }
+            node.put(path[path.length - 1], value);
+        });
+        return root;
+    }
+}
@@ -0,0 +1,155 @@
+package is.is_backend.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+public class DiskHashIndex implements Closeable {
+
+    private static final int SLOT_SIZE = 2 * Long.BYTES;
+    private static final int INITIAL_CAPACITY = 1 << 16;
+    private static final int MAX_CAPACITY = 1 << 26;
+    private static final int REHASH_BLOCK_SLOTS = 4096;
+
+    private final Path directory;
+    private final MessageDigest digest;
+    private final ByteBuffer slot = ByteBuffer.allocate(SLOT_SIZE);
+    private Path file;
+    private FileChannel slots;
+    private int capacity;
+    private int size;
+
+    public DiskHashIndex(Path directory) throws IOException {
+        this.directory = directory;
+        try {
+            this.digest = MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        open(INITIAL_CAPACITY);
+    }
+
+    public synchronized boolean add(String key) {
+        long[] fingerprint = fingerprint(key);
+        try {
+            long position = find(fingerprint[0], fingerprint[1]);
+            if (!isEmpty(slot)) {
+                return false;
+            }
+            write(position, fingerprint[0], fingerprint[1]);
+            if (++size > capacity / 2) {
+                grow();
+            }
+            return true;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to access spill index", e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        closeQuietly(slots);
+        slots = null;
+        delete(file);
+    }
+
+    private long find(long high, long low) throws IOException {
+        int mask = capacity - 1;
+        int index = (int) (high ^ high >>> 32) & mask;
+        while (true) {
+            long position = (long) index * SLOT_SIZE;
+            slot.clear();
+            readFully(slots, slot, position);
+            if (isEmpty(slot) || slot.getLong(0) == high && slot.getLong(Long.BYTES) == low) {
+                return position;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    private boolean isEmpty(ByteBuffer buffer) {
+        return buffer.getLong(0) == 0 && buffer.getLong(Long.BYTES) == 0;
+    }
+
+    private void write(long position, long high, long low) throws IOException {
+        slot.clear();
+        slot.putLong(high).putLong(low).flip();
+        while (slot.hasRemaining()) {
+            slots.write(slot, position + slot.position());
+        }
+    }
+
+    private long[] fingerprint(String key) {
+        ByteBuffer hash = ByteBuffer.wrap(digest.digest(key.getBytes(StandardCharsets.UTF_8)));
+        long high = hash.getLong();
+        long low = hash.getLong();
+        return high == 0 && low == 0 ? new long[] {0, 1} : new long[] {high, low};
+    }
+
+    private void grow() throws IOException {
+        if (capacity >= MAX_CAPACITY) {
+            throw new IllegalStateException("Spill index is full");
+        }
+        FileChannel oldSlots = slots;
+        Path oldFile = file;
+        long oldSize = (long) capacity * SLOT_SIZE;
+        try {
+            open(capacity * 2);
+            ByteBuffer block = ByteBuffer.allocate(REHASH_BLOCK_SLOTS * SLOT_SIZE);
+            for (long blockStart = 0; blockStart < oldSize; blockStart += block.capacity()) {
+                block.clear();
+                readFully(oldSlots, block, blockStart);
+                for (int offset = 0; offset < block.capacity(); offset += SLOT_SIZE) {
+                    long high = block.getLong(offset);
+                    long low = block.getLong(offset + Long.BYTES);
+                    if (high != 0 || low != 0) {
+                        write(find(high, low), high, low);
+                    }
+                }
+            }
+        } finally {
+            closeQuietly(oldSlots);
+            delete(oldFile);
+        }
+    }
+
+    private void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Spill index file is truncated");
+            }
+        }
+    }
+
+    private void closeQuietly(FileChannel channel) {
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            // the index file is deleted right after, nothing else to release
+        }
+    }
+
+    private void delete(Path indexFile) {
+        try {
+            Files.deleteIfExists(indexFile);
+        } catch (IOException e) {
+            indexFile.toFile().deleteOnExit();
+        }
+    }
+
+    private void open(int newCapacity) throws IOException {
+        file = Files.createTempFile(directory, "import-spill-", ".idx");
+        slots = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        slots.write(ByteBuffer.allocate(1), (long) newCapacity * SLOT_SIZE - 1);
+        capacity = newCapacity;
+    }
+}
@@ -0,0 +1,189 @@
+package is.is_backend.importer;
+
+import is.is_backend.builder.OrganizationBuilder;
+import is.is_backend.dto.importHistoryDto.ImportRowErrorDTO;
+import is.is_backend.dto.organizationDto.OrganizationRequestDTO;
+import is.is_backend.exception.MyException;
+import is.is_backend.models.Organization;
+import is.is_backend.models.enums.OrganizationType;
+import is.is_backend.repository.OrganizationRepository;
+import is.is_backend.service.OrganizationService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+@Component
+@AllArgsConstructor
+public class ImportBatchValidator {
+
+    private static final long ERROR_OVERHEAD_BYTES = 64;
+
+    private final OrganizationBuilder organizationBuilder;
+    private final OrganizationService organizationService;
+    private final OrganizationRepository organizationRepository;
+    private final Validator validator;
+
+    public List<Organization> buildChunk(
+            List<OrganizationRequestDTO> chunk, int offset, ImportContext context, List<ImportRowErrorDTO> errors) {
+        List<Organization> organizations = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            try {
+                Organization organization = organizationBuilder.buildFromRequest(chunk.get(i));
+                organizationService.validateAnnualTurnover(
+                        organization.getAnnualTurnover(), organization.getEmployeesCount());
+                validateConstraints(organization);
+                organizations.add(organization);
+            } catch (MyException e) {
+                organizations.add(null);
+                addError(context, errors, new ImportRowErrorDTO(offset + i + 1, e.getMessage()));
+            }
+        }
+        return organizations;
+    }
+
+    public void validateChunk(
+            List<Organization> organizations, int offset, ImportContext context, List<ImportRowErrorDTO> errors) {
+        validateChunk(organizations, offset, context, errors, false);
+    }
+
+    public void validateUpsertChunk(
+            List<Organization> organizations, int offset, ImportContext context, List<ImportRowErrorDTO> errors) {
+        validateChunk(organizations, offset, context, errors, true);
+    }
+
+    private void validateChunk(
+            List<Organization> organizations,
+            int offset,
+            ImportContext context,
+            List<ImportRowErrorDTO> errors,
+            boolean upsert) {
+        Set<String> existingFullNames = upsert ? Set.of() : findExistingFullNames(organizations);
+        Map<String, String> existingZipCodeTypes = findExistingPostalZipCodeTypes(organizations);
+
+        for (int i = 0; i < organizations.size(); i++) {
+            Organization organization = organizations.get(i);
+            if (organization == null) {
+                continue;
+            }
+            int row = offset + i + 1;
+            String fullName = organization.getFullName();
+            if (existingFullNames.contains(fullName)) {
+                addError(
+                        context,
+                        errors,
+                        new ImportRowErrorDTO(row, "Organization with fullName " + fullName + " already exists"));
+            } else if (!context.getSeenFullNames().add(fullName)) {
+                addError(
+                        context,
+                        errors,
+                        new ImportRowErrorDTO(
+                                row, "Organization with fullName " + fullName + " is duplicated in the file"));
+            }
+
+            String zipCode = organization.getPostalAddress().getZipCode();
+            if (zipCode == null) {
+                continue;
+            }
+            String zipCodeType = zipCodeTypeKey(zipCode, organization.getType());
+            String owner = existingZipCodeTypes.get(zipCodeType);
+            if (owner != null && !(upsert && owner.equals(fullName))) {
+                addError(
+                        context,
+                        errors,
+                        new ImportRowErrorDTO(row, zipCodeTypeConflict(organization, "already exists")));
+            } else if (!context.getSeenPostalZipCodeTypes().add(zipCodeType)) {
+                addError(
+                        context,
+                        errors,
+                        new ImportRowErrorDTO(row, zipCodeTypeConflict(organization, "is duplicated in the file")));
+            }
+        }
+    }
+
+    public MyException chunkFailed(ImportContext context, List<ImportRowErrorDTO> errors) {
+        releaseErrors(context, errors);
+        errors.sort(Comparator.comparing(ImportRowErrorDTO::getRow));
+        String details = errors.stream()
+                .map(error -> "object " + error.getRow() + ": " + error.getMessage())
+                .collect(Collectors.joining("; "));
+        return rowFailed(errors.get(0).getRow(), details, null);
+    }
+
+    public void releaseErrors(ImportContext context, List<ImportRowErrorDTO> errors) {
+        context.getMemoryBudget()
+                .release(errors.stream()
+                        .mapToLong(ImportBatchValidator::estimateBytes)
+                        .sum());
+    }
+
+    private void addError(ImportContext context, List<ImportRowErrorDTO> errors, ImportRowErrorDTO error) {
+        context.getMemoryBudget().charge(estimateBytes(error));
+        errors.add(error);
+    }
+
+    private static long estimateBytes(ImportRowErrorDTO error) {
+        return ERROR_OVERHEAD_BYTES + 2L * error.getMessage().length();
+    }
+
+    public MyException rowFailed(int objectNumber, String message, Throwable cause) {
+        return new MyException(
+                "Import failed (error in object " + objectNumber + "). " + message, HttpStatus.BAD_REQUEST, cause);
+    }
+
+    private void validateConstraints(Organization organization) {
+        Set<ConstraintViolation<Organization>> violations = validator.validate(organization);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+            throw new MyException(message, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    private Set<String> findExistingFullNames(List<Organization> organizations) {
+        Set<String> fullNames = new HashSet<>();
+        for (Organization organization : organizations) {
+            if (organization != null) {
+                fullNames.add(organization.getFullName());
+            }
+        }
+        return fullNames.isEmpty() ? Set.of() : new HashSet<>(organizationRepository.findFullNamesIn(fullNames));
+    }
+
+    private Map<String, String> findExistingPostalZipCodeTypes(List<Organization> organizations) {
+        Set<String> zipCodes = new HashSet<>();
+        for (Organization organization : organizations) {
+            if (organization != null && organization.getPostalAddress().getZipCode() != null) {
+                zipCodes.add(organization.getPostalAddress().getZipCode());
+            }
+        }
+        if (zipCodes.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, String> owners = new HashMap<>();
+        for (Object[] row : organizationRepository.findPostalZipCodeOwnersIn(zipCodes)) {
+            owners.put(zipCodeTypeKey((String) row[0], (OrganizationType) row[1]), (String) row[2]);
+        }
+        return owners;
+    }
+
+    private String zipCodeTypeConflict(Organization organization, String reason) {
+        return "Organization of type '" + organization.getType() + "' with zip code "
+                + organization.getPostalAddress().getZipCode() + " " + reason;
+    }
+
+    private String zipCodeTypeKey(String zipCode, OrganizationType type) {
+        return zipCode + '\u0000' + type;
+    }
+}
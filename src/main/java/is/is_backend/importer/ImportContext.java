@@ -0,0 +1,27 @@
+package is.is_backend.importer;
+
+import is.is_backend.models.ImportHistory;
+import lombok.Getter;
+
+@Getter
+public class ImportContext {
+
+    private final ImportHistory importHistory;
+    private final ImportMemoryBudget memoryBudget;
+    private final SpillableIndex<String> seenFullNames;
+    private final SpillableIndex<String> seenPostalZipCodeTypes;
+    private final ImportTicket ticket;
+    private final ImportMetrics metrics = new ImportMetrics();
+
+    public ImportContext(ImportHistory importHistory, ImportMemoryBudget memoryBudget) {
+        this(importHistory, memoryBudget, null);
+    }
+
+    public ImportContext(ImportHistory importHistory, ImportMemoryBudget memoryBudget, ImportTicket ticket) {
+        this.importHistory = importHistory;
+        this.ticket = ticket;
+        this.memoryBudget = memoryBudget;
+        this.seenFullNames = memoryBudget.newIndex();
+        this.seenPostalZipCodeTypes = memoryBudget.newIndex();
+    }
+}
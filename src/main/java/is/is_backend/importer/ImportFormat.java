@@ -0,0 +1,14 @@
+package is.is_backend.importer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+public interface ImportFormat {
+
+    List<String> getExtensions();
+
+    List<String> getContentTypes();
+
+    ImportReader open(InputStream inputStream) throws IOException;
+}
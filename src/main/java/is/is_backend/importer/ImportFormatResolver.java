@@ -0,0 +1,52 @@
+package is.is_backend.importer;
+
+import is.is_backend.exception.MyException;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+@Component
+@AllArgsConstructor
+public class ImportFormatResolver {
+
+    private static final String GZIP_EXTENSION = ".gz";
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final List<ImportFormat> formats;
+
+    public ImportFormat resolve(String filename, String contentType) {
+        String name = filename == null ? "" : filename.toLowerCase();
+        if (name.endsWith(GZIP_EXTENSION)) {
+            name = name.substring(0, name.length() - GZIP_EXTENSION.length());
+        }
+        for (ImportFormat format : formats) {
+            if (format.getExtensions().stream().anyMatch(name::endsWith)) {
+                return format;
+            }
+        }
+        for (ImportFormat format : formats) {
+            if (contentType != null && format.getContentTypes().contains(contentType)) {
+                return format;
+            }
+        }
+        throw new MyException("Invalid file format.", HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+    }
+
+    public ImportReader open(InputStream inputStream, ImportFormat format) throws IOException {
+        InputStream buffered = new BufferedInputStream(inputStream, BUFFER_SIZE);
+        return format.open(isGzip(buffered) ? new GZIPInputStream(buffered, BUFFER_SIZE) : buffered);
+    }
+
+    private boolean isGzip(InputStream inputStream) throws IOException {
+        inputStream.mark(2);
+        int magic = inputStream.read() | (inputStream.read() << 8);
+        inputStream.reset();
+        return magic == GZIP_MAGIC;
+    }
+}
@@ -0,0 +1,69 @@
+package is.is_backend.importer;
+
+import is.is_backend.models.Address;
+import is.is_backend.models.Coordinates;
+import is.is_backend.models.Location;
+import is.is_backend.models.Organization;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ImportIdentityMap {
+
+    private final Map<Object, Object> entities = new HashMap<>();
+
+    private ImportIdentityMap() {}
+
+    public static void canonicalize(List<Organization> organizations) {
+        ImportIdentityMap identityMap = new ImportIdentityMap();
+        for (Organization organization : organizations) {
+            organization.setCoordinates(identityMap.resolve(organization.getCoordinates()));
+            organization.setOfficialAddress(identityMap.resolve(organization.getOfficialAddress()));
+            organization.setPostalAddress(identityMap.resolve(organization.getPostalAddress()));
+        }
+    }
+
+    private Coordinates resolve(Coordinates coordinates) {
+        if (coordinates == null || coordinates.getId() != null) {
+            return coordinates;
+        }
+        return resolve(new CoordinatesKey(coordinates.getX(), coordinates.getY()), coordinates);
+    }
+
+    private Location resolve(Location location) {
+        if (location == null || location.getId() != null) {
+            return location;
+        }
+        return resolve(locationKey(location), location);
+    }
+
+    private Address resolve(Address address) {
+        if (address == null || address.getId() != null) {
+            return address;
+        }
+        address.setTown(resolve(address.getTown()));
+        return resolve(new AddressKey(address.getZipCode(), townKey(address.getTown())), address);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T resolve(Object key, T entity) {
+        return (T) entities.computeIfAbsent(key, ignored -> entity);
+    }
+
+    private static Object townKey(Location town) {
+        if (town == null) {
+            return null;
+        }
+        return town.getId() != null ? town.getId() : locationKey(town);
+    }
+
+    private static LocationKey locationKey(Location location) {
+        return new LocationKey(location.getX(), location.getY(), location.getZ(), location.getName());
+    }
+
+    private record CoordinatesKey(long x, float y) {}
+
+    private record LocationKey(float x, double y, Float z, String name) {}
+
+    private record AddressKey(String zipCode, Object town) {}
+}
@@ -0,0 +1,67 @@
+package is.is_backend.importer;
+
+import is.is_backend.exception.MyException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.http.HttpStatus;
+
+public class ImportMemoryBudget implements AutoCloseable {
+
+    private final long limitBytes;
+    private final Path spillDirectory;
+    private final AtomicLong reservedBytes = new AtomicLong();
+    private final List<DiskHashIndex> spilledIndexes = new CopyOnWriteArrayList<>();
+
+    public ImportMemoryBudget(long limitBytes, Path spillDirectory) {
+        this.limitBytes = limitBytes;
+        this.spillDirectory = spillDirectory;
+    }
+
+    public <K> SpillableIndex<K> newIndex() {
+        return new SpillableIndex<>(this);
+    }
+
+    public boolean reserve(long bytes) {
+        if (reservedBytes.addAndGet(bytes) <= limitBytes) {
+            return true;
+        }
+        reservedBytes.addAndGet(-bytes);
+        return false;
+    }
+
+    public void charge(long bytes) {
+        reservedBytes.addAndGet(bytes);
+    }
+
+    public void release(long bytes) {
+        reservedBytes.addAndGet(-bytes);
+    }
+
+    public long getReservedBytes() {
+        return reservedBytes.get();
+    }
+
+    public int getSpilledIndexCount() {
+        return spilledIndexes.size();
+    }
+
+    DiskHashIndex spill() {
+        try {
+            DiskHashIndex index = new DiskHashIndex(Files.createDirectories(spillDirectory));
+            spilledIndexes.add(index);
+            return index;
+        } catch (IOException e) {
+            throw new MyException("Failed to spill import state to disk", HttpStatus.INTERNAL_SERVER_ERROR, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        spilledIndexes.forEach(DiskHashIndex::close);
+        spilledIndexes.clear();
+    }
+}
@@ -0,0 +1,82 @@
+package is.is_backend.importer;
+
+import is.is_backend.models.ImportHistory;
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ImportMetrics {
+
+    private final long startedAt = System.nanoTime();
+    private final Map<ImportStage, LongAdder> stageNanos = new EnumMap<>(ImportStage.class);
+    private final AtomicInteger chunkCount = new AtomicInteger();
+    private final AtomicInteger peakBatchSize = new AtomicInteger();
+    private final AtomicInteger rowsWritten = new AtomicInteger();
+    private ImportStage currentStage;
+    private long stageStartedAt;
+    private volatile long finishedAt;
+    private CountingInputStream input;
+
+    public ImportMetrics() {
+        for (ImportStage stage : ImportStage.values()) {
+            stageNanos.put(stage, new LongAdder());
+        }
+    }
+
+    public InputStream count(InputStream inputStream) {
+        input = new CountingInputStream(inputStream);
+        return input;
+    }
+
+    public void switchTo(ImportStage stage) {
+        long now = System.nanoTime();
+        if (currentStage != null) {
+            record(currentStage, now - stageStartedAt);
+        }
+        currentStage = stage;
+        stageStartedAt = now;
+    }
+
+    public void stop() {
+        switchTo(null);
+    }
+
+    public void finish() {
+        stop();
+        if (finishedAt == 0) {
+            finishedAt = System.nanoTime();
+        }
+    }
+
+    public void record(ImportStage stage, long nanos) {
+        stageNanos.get(stage).add(nanos);
+    }
+
+    public void chunkWritten(int size) {
+        chunkCount.incrementAndGet();
+        rowsWritten.addAndGet(size);
+        peakBatchSize.accumulateAndGet(size, Math::max);
+    }
+
+    public void applyTo(ImportHistory importHistory) {
+        long elapsedMillis =
+                TimeUnit.NANOSECONDS.toMillis((finishedAt == 0 ? System.nanoTime() : finishedAt) - startedAt);
+        importHistory.setDurationMillis(elapsedMillis);
+        importHistory.setParseMillis(stageMillis(ImportStage.PARSE));
+        importHistory.setResolveMillis(stageMillis(ImportStage.RESOLVE));
+        importHistory.setValidateMillis(stageMillis(ImportStage.VALIDATE));
+        importHistory.setInsertMillis(stageMillis(ImportStage.INSERT));
+        importHistory.setCheckpointMillis(stageMillis(ImportStage.CHECKPOINT));
+        importHistory.setBytesRead(input == null ? 0 : input.getCount());
+        importHistory.setChunkCount(chunkCount.get());
+        importHistory.setPeakBatchSize(peakBatchSize.get());
+        importHistory.setRowsPerSecond(elapsedMillis == 0 ? null : rowsWritten.get() * 1000.0 / elapsedMillis);
+    }
+
+    private long stageMillis(ImportStage stage) {
+        return TimeUnit.NANOSECONDS.toMillis(stageNanos.get(stage).sum());
+    }
+}
@@ -0,0 +1,10 @@
+package is.is_backend.importer;
+
+import is.is_backend.dto.organizationDto.OrganizationRequestDTO;
+import java.io.Closeable;
+import java.io.IOException;
+
+public interface ImportReader extends Closeable {
+
+    OrganizationRequestDTO next() throws IOException;
+}
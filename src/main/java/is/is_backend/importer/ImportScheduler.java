@@ -0,0 +1,169 @@
+package is.is_backend.importer;
+
+import is.is_backend.config.ImportProperties;
+import is.is_backend.exception.MyException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ImportScheduler {
+
+    private final ImportProperties importProperties;
+    private final ThreadPoolTaskExecutor importTaskExecutor;
+    private final List<ImportTicket> tickets = new ArrayList<>();
+    private final List<QueuedJob> queuedJobs = new ArrayList<>();
+    private final Map<String, Integer> clientImports = new HashMap<>();
+    private int busySlots;
+
+    public ImportScheduler(ImportProperties importProperties, ThreadPoolTaskExecutor importTaskExecutor) {
+        this.importProperties = importProperties;
+        this.importTaskExecutor = importTaskExecutor;
+    }
+
+    public synchronized ImportTicket admit(String clientId, Duration timeout) {
+        long deadline = timeout == null ? Long.MAX_VALUE : System.nanoTime() + timeout.toNanos();
+        while (isClientQuotaExhausted(clientId) || tickets.size() >= importProperties.getMaxConcurrentImports()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0 && isClientQuotaExhausted(clientId)) {
+                throw new MyException(
+                        "Import quota of client " + clientId + " is exhausted, try again later",
+                        HttpStatus.TOO_MANY_REQUESTS);
+            }
+            if (remaining <= 0) {
+                throw new MyException("Too many concurrent imports, try again later", HttpStatus.SERVICE_UNAVAILABLE);
+            }
+            await(timeout == null ? 0 : Math.max(1, remaining / 1_000_000));
+        }
+
+        return newTicket(clientId);
+    }
+
+    public synchronized void submit(String clientId, Consumer<ImportTicket> job) {
+        if (queuedJobs.size() >= importProperties.getQueueCapacity()) {
+            throw new MyException("Import queue is full, try again later", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        queuedJobs.add(new QueuedJob(clientId, job));
+        startQueuedJobs();
+    }
+
+    public synchronized int getRunningImports() {
+        return tickets.size();
+    }
+
+    synchronized void awaitTurn(ImportTicket ticket) {
+        ticket.waitingTurns++;
+        dispatch();
+        try {
+            while (ticket.grantedTurns == 0) {
+                await(0);
+            }
+        } catch (MyException e) {
+            if (ticket.grantedTurns > 0) {
+                ticket.grantedTurns--;
+                turnDone();
+            } else {
+                ticket.waitingTurns--;
+            }
+            throw e;
+        }
+        ticket.grantedTurns--;
+    }
+
+    synchronized void turnDone() {
+        busySlots--;
+        dispatch();
+    }
+
+    synchronized void release(ImportTicket ticket) {
+        removeTicket(ticket);
+        startQueuedJobs();
+        notifyAll();
+    }
+
+    private ImportTicket newTicket(String clientId) {
+        ImportTicket ticket = new ImportTicket(
+                this, clientId, importProperties.getClientWeights().getOrDefault(clientId, 1));
+        tickets.add(ticket);
+        clientImports.merge(clientId, 1, Integer::sum);
+        return ticket;
+    }
+
+    private void startQueuedJobs() {
+        Iterator<QueuedJob> iterator = queuedJobs.iterator();
+        while (tickets.size() < importProperties.getMaxConcurrentImports() && iterator.hasNext()) {
+            QueuedJob job = iterator.next();
+            if (isClientQuotaExhausted(job.clientId())) {
+                continue;
+            }
+            iterator.remove();
+            ImportTicket ticket = newTicket(job.clientId());
+            try {
+                importTaskExecutor.execute(() -> job.task().accept(ticket));
+            } catch (TaskRejectedException e) {
+                // the executor is shutting down, the job stays queued in the import history
+                removeTicket(ticket);
+            }
+        }
+    }
+
+    private void removeTicket(ImportTicket ticket) {
+        tickets.remove(ticket);
+        clientImports.computeIfPresent(ticket.getClientId(), (client, imports) -> imports > 1 ? imports - 1 : null);
+    }
+
+    private boolean isClientQuotaExhausted(String clientId) {
+        return clientImports.getOrDefault(clientId, 0) >= importProperties.getMaxImportsPerClient();
+    }
+
+    private void dispatch() {
+        boolean granted = false;
+        ImportTicket next;
+        while (busySlots < importProperties.getChunkSlots() && (next = nextTicket()) != null) {
+            next.waitingTurns--;
+            next.grantedTurns++;
+            busySlots++;
+            granted = true;
+        }
+        if (granted) {
+            notifyAll();
+        }
+    }
+
+    private ImportTicket nextTicket() {
+        ImportTicket next = null;
+        int totalWeight = 0;
+        for (ImportTicket ticket : tickets) {
+            if (ticket.waitingTurns > 0) {
+                ticket.currentWeight += ticket.getWeight();
+                totalWeight += ticket.getWeight();
+                if (next == null || ticket.currentWeight > next.currentWeight) {
+                    next = ticket;
+                }
+            }
+        }
+        if (next != null) {
+            next.currentWeight -= totalWeight;
+        }
+        return next;
+    }
+
+    private void await(long millis) {
+        try {
+            wait(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MyException("Import was interrupted", HttpStatus.INTERNAL_SERVER_ERROR, e);
+        }
+    }
+
+    private record QueuedJob(String clientId, Consumer<ImportTicket> task) {}
+}
@@ -0,0 +1,9 @@
+package is.is_backend.importer;
+
+public enum ImportStage {
+    PARSE,
+    RESOLVE,
+    VALIDATE,
+    INSERT,
+    CHECKPOINT
+}
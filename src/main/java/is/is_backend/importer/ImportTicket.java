@@ -0,0 +1,39 @@
+package is.is_backend.importer;
+
+public class ImportTicket implements AutoCloseable {
+
+    private final ImportScheduler scheduler;
+    private final String clientId;
+    private final int weight;
+    int waitingTurns;
+    int grantedTurns;
+    int currentWeight;
+
+    ImportTicket(ImportScheduler scheduler, String clientId, int weight) {
+        this.scheduler = scheduler;
+        this.clientId = clientId;
+        this.weight = weight;
+    }
+
+    public String getClientId() {
+        return clientId;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    public void runTurn(Runnable chunk) {
+        scheduler.awaitTurn(this);
+        try {
+            chunk.run();
+        } finally {
+            scheduler.turnDone();
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.release(this);
+    }
+}
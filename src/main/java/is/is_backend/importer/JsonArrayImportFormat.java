@@ -0,0 +1,58 @@
+package is.is_backend.importer;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import is.is_backend.dto.organizationDto.OrganizationRequestDTO;
+import is.is_backend.exception.MyException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+@Component
+@AllArgsConstructor
+public class JsonArrayImportFormat implements ImportFormat {
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public List<String> getExtensions() {
+        return List.of(".json");
+    }
+
+    @Override
+    public List<String> getContentTypes() {
+        return List.of("application/json");
+    }
+
+    @Override
+    public ImportReader open(InputStream inputStream) throws IOException {
+        JsonParser parser = objectMapper.getFactory().createParser(inputStream);
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            parser.close();
+            throw new MyException("JSON file must contain an array of organizations", HttpStatus.BAD_REQUEST);
+        }
+        return new ImportReader() {
+            @Override
+            public OrganizationRequestDTO next() throws IOException {
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.START_OBJECT) {
+                    return objectMapper.readValue(parser, OrganizationRequestDTO.class);
+                }
+                if (token != JsonToken.END_ARRAY) {
+                    throw new JsonParseException(parser, "Expected an organization object");
+                }
+                return null;
+            }
+
+            @Override
+            public void close() throws IOException {
+                parser.close();
+            }
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package is.is_backend.importer;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import is.is_backend.dto.organizationDto.OrganizationRequestDTO;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@AllArgsConstructor
+public class NdjsonImportFormat implements ImportFormat {
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public List<String> getExtensions() {
+        return List.of(".ndjson", ".jsonl");
+    }
+
+    @Override
+    public List<String> getContentTypes() {
+        return List.of("application/x-ndjson", "application/jsonl");
+    }
+
+    @Override
+    public ImportReader open(InputStream inputStream) throws IOException {
+        MappingIterator<OrganizationRequestDTO> iterator =
+                objectMapper.readerFor(OrganizationRequestDTO.class).readValues(inputStream);
+        return new ImportReader() {
+            @Override
+            public OrganizationRequestDTO next() throws IOException {
+                return iterator.hasNextValue() ? iterator.nextValue() : null;
+            }
+
+            @Override
+            public void close() throws IOException {
+                iterator.close();
+            }
+        };
+    }
+}
@@ -0,0 +1,184 @@
+package is.is_backend.importer;
+
+import is.is_backend.models.Address;
+import is.is_backend.models.Coordinates;
+import is.is_backend.models.Location;
+import is.is_backend.models.Organization;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.metamodel.MappingMetamodel;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+public class OrganizationUpsertWriter {
+
+    private static final String STAGING = "organization_staging";
+    private static final String[] ADDRESS_PREFIXES = {"official", "postal"};
+
+    private static final String INSERT_STAGING = "insert into " + STAGING
+            + " (organization_id, import_id, row_num, name, full_name, organization_type, annual_turnover,"
+            + " employees_count, rating, coordinates_id, coordinates_new, coordinates_x, coordinates_y,"
+            + " official_address_id, official_address_new, official_zip_code, official_location_id,"
+            + " official_location_new, official_location_x, official_location_y, official_location_z,"
+            + " official_location_name, postal_address_id, postal_address_new, postal_zip_code, postal_location_id,"
+            + " postal_location_new, postal_location_x, postal_location_y, postal_location_z, postal_location_name)"
+            + " values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_COORDINATES = "insert into coordinates (id, x, y)"
+            + " select coordinates_id, coordinates_x, coordinates_y from " + STAGING
+            + " where import_id = ? and coordinates_new = true";
+
+    private static final String STAGE_REPLACED_ROWS = "update " + STAGING + " s set (old_coordinates_id,"
+            + " old_official_address_id, old_official_location_id, old_postal_address_id, old_postal_location_id) ="
+            + " (select o.coordinates_id, o.official_address_id, oa.town_id, o.postal_address_id, pa.town_id"
+            + " from organizations o left join addresses oa on oa.id = o.official_address_id"
+            + " left join addresses pa on pa.id = o.postal_address_id where o.full_name = s.full_name)"
+            + " where s.import_id = ?";
+
+    private static final String DELETE_REPLACED_COORDINATES = "delete from coordinates c where c.id in"
+            + " (select old_coordinates_id from " + STAGING + " where import_id = ?)"
+            + " and not exists (select 1 from organizations o where o.coordinates_id = c.id)";
+
+    private static final String UPDATE_ORGANIZATIONS = "update organizations set (name, coordinates_id,"
+            + " official_address_id, annual_turnover, employees_count, rating, organization_type, postal_address_id) ="
+            + " (select s.name, s.coordinates_id, s.official_address_id, s.annual_turnover, s.employees_count,"
+            + " s.rating, s.organization_type, s.postal_address_id from " + STAGING + " s"
+            + " where s.import_id = ? and s.full_name = organizations.full_name)"
+            + " where full_name in (select full_name from " + STAGING + " where import_id = ?)";
+
+    private static final String INSERT_ORGANIZATIONS = "insert into organizations (id, name, coordinates_id,"
+            + " creation_date, official_address_id, annual_turnover, employees_count, rating, full_name,"
+            + " organization_type, postal_address_id)"
+            + " select s.organization_id, s.name, s.coordinates_id, ?, s.official_address_id, s.annual_turnover,"
+            + " s.employees_count, s.rating, s.full_name, s.organization_type, s.postal_address_id from " + STAGING
+            + " s where s.import_id = ?"
+            + " and not exists (select 1 from organizations o where o.full_name = s.full_name)";
+
+    private static final String DELETE_STAGING = "delete from " + STAGING + " where import_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final MappingMetamodel mappingMetamodel;
+
+    public OrganizationUpsertWriter(
+            JdbcTemplate jdbcTemplate, EntityManager entityManager, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.mappingMetamodel =
+                entityManagerFactory.unwrap(SessionFactoryImplementor.class).getMappingMetamodel();
+    }
+
+    public UpsertResult upsert(long importId, List<Organization> organizations, int offset) {
+        ImportIdentityMap.canonicalize(organizations);
+        List<Object[]> rows = new ArrayList<>(organizations.size());
+        for (int i = 0; i < organizations.size(); i++) {
+            rows.add(stagingRow(importId, offset + i + 1, organizations.get(i)));
+        }
+        jdbcTemplate.batchUpdate(INSERT_STAGING, rows);
+
+        for (String prefix : ADDRESS_PREFIXES) {
+            jdbcTemplate.update(insertLocations(prefix), importId);
+        }
+        for (String prefix : ADDRESS_PREFIXES) {
+            jdbcTemplate.update(insertAddresses(prefix), importId);
+        }
+        jdbcTemplate.update(INSERT_COORDINATES, importId);
+        jdbcTemplate.update(STAGE_REPLACED_ROWS, importId);
+        int updated = jdbcTemplate.update(UPDATE_ORGANIZATIONS, importId, importId);
+        int inserted = jdbcTemplate.update(INSERT_ORGANIZATIONS, OffsetDateTime.now(), importId);
+
+        jdbcTemplate.update(DELETE_REPLACED_COORDINATES, importId);
+        for (String prefix : ADDRESS_PREFIXES) {
+            jdbcTemplate.update(deleteReplacedAddresses(prefix), importId);
+        }
+        for (String prefix : ADDRESS_PREFIXES) {
+            jdbcTemplate.update(deleteReplacedLocations(prefix), importId);
+        }
+        jdbcTemplate.update(DELETE_STAGING, importId);
+        return new UpsertResult(inserted, updated);
+    }
+
+    private Object[] stagingRow(long importId, int row, Organization organization) {
+        Coordinates coordinates = organization.getCoordinates();
+        boolean coordinatesNew = assignId(coordinates.getId() == null, Coordinates.class, coordinates::setId);
+
+        List<Object> values = new ArrayList<>(List.of(nextId(Organization.class), importId, row));
+        values.add(organization.getName());
+        values.add(organization.getFullName());
+        values.add(organization.getType().name());
+        values.add(organization.getAnnualTurnover());
+        values.add(organization.getEmployeesCount());
+        values.add(organization.getRating());
+        values.add(coordinates.getId());
+        values.add(coordinatesNew);
+        values.add(coordinates.getX());
+        values.add(coordinates.getY());
+        addAddress(values, organization.getOfficialAddress());
+        addAddress(values, organization.getPostalAddress());
+        return values.toArray();
+    }
+
+    private void addAddress(List<Object> values, Address address) {
+        Location town = address.getTown();
+        boolean townNew = town != null && assignId(town.getId() == null, Location.class, town::setId);
+        boolean addressNew = assignId(address.getId() == null, Address.class, address::setId);
+
+        values.add(address.getId());
+        values.add(addressNew);
+        values.add(address.getZipCode());
+        values.add(town == null ? null : town.getId());
+        values.add(townNew);
+        values.add(town == null ? null : town.getX());
+        values.add(town == null ? null : town.getY());
+        values.add(town == null ? null : town.getZ());
+        values.add(town == null ? null : town.getName());
+    }
+
+    private boolean assignId(boolean isNew, Class<?> entityType, LongConsumer setter) {
+        if (isNew) {
+            setter.accept(nextId(entityType));
+        }
+        return isNew;
+    }
+
+    private long nextId(Class<?> entityType) {
+        BeforeExecutionGenerator generator = (BeforeExecutionGenerator)
+                mappingMetamodel.getEntityDescriptor(entityType).getGenerator();
+        return (Long) generator.generate(
+                entityManager.unwrap(SharedSessionContractImplementor.class), null, null, EventType.INSERT);
+    }
+
+    private String insertLocations(String prefix) {
+        return "insert into locations (id, x, y, z, name) select " + prefix + "_location_id, " + prefix
+                + "_location_x, " + prefix + "_location_y, " + prefix + "_location_z, " + prefix
+                + "_location_name from " + STAGING + " where import_id = ? and " + prefix + "_location_new = true";
+    }
+
+    private String insertAddresses(String prefix) {
+        return "insert into addresses (id, zip_code, town_id) select " + prefix + "_address_id, " + prefix
+                + "_zip_code, " + prefix + "_location_id from " + STAGING + " where import_id = ? and " + prefix
+                + "_address_new = true";
+    }
+
+    private String deleteReplacedAddresses(String prefix) {
+        return "delete from addresses a where a.id in (select old_" + prefix + "_address_id from " + STAGING
+                + " where import_id = ?) and not exists (select 1 from organizations o"
+                + " where o.official_address_id = a.id or o.postal_address_id = a.id)";
+    }
+
+    private String deleteReplacedLocations(String prefix) {
+        return "delete from locations l where l.id in (select old_" + prefix + "_location_id from " + STAGING
+                + " where import_id = ?) and not exists (select 1 from addresses a where a.town_id = l.id)";
+    }
+
+    public record UpsertResult(int inserted, int updated) {}
+}
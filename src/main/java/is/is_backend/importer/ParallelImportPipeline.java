@@ -0,0 +1,330 @@
+package is.is_backend.importer;
+
+import is.is_backend.config.ImportProperties;
+import is.is_backend.dto.importHistoryDto.ImportRowErrorDTO;
+import is.is_backend.dto.organizationDto.OrganizationRequestDTO;
+import is.is_backend.event.ChangeEventBus;
+import is.is_backend.exception.MyException;
+import is.is_backend.models.Address;
+import is.is_backend.models.Coordinates;
+import is.is_backend.models.ImportHistory;
+import is.is_backend.models.Location;
+import is.is_backend.models.Organization;
+import is.is_backend.models.enums.ChangeEntityType;
+import is.is_backend.service.ImportHistoryService;
+import is.is_backend.service.OrganizationService;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Component
+@AllArgsConstructor
+public class ParallelImportPipeline {
+
+    private static final ImportChunk END_OF_CHUNKS = new ImportChunk(-1, List.of());
+    private static final ValidatedChunk END_OF_VALIDATED = new ValidatedChunk(-1, List.of());
+
+    private final ImportProperties importProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ImportBatchValidator importBatchValidator;
+    private final OrganizationService organizationService;
+    private final ChangeEventBus changeEventBus;
+    private final ImportHistoryService importHistoryService;
+    private final ThreadPoolTaskExecutor importPipelineExecutor;
+
+    public void run(ImportReader reader, ImportContext context) {
+        int validators = importProperties.getValidatorThreads();
+        PipelineRun run = new PipelineRun(
+                context, importProperties.getWriterThreads(), importProperties.getPipelineQueueCapacity());
+        List<Future<?>> validatorTasks = new ArrayList<>();
+        List<Future<?>> writerTasks = new ArrayList<>();
+
+        try {
+            // the pool fits exactly one pipeline, so each run queues all of its tasks at once and never
+            // waits for its writers behind the validators of another run
+            synchronized (importPipelineExecutor) {
+                for (int i = 0; i < validators; i++) {
+                    validatorTasks.add(importPipelineExecutor.submit(() -> validateChunks(run)));
+                }
+                for (BlockingQueue<ValidatedChunk> partition : run.partitions) {
+                    writerTasks.add(importPipelineExecutor.submit(() -> writePartition(partition, run)));
+                }
+            }
+
+            parseChunks(reader, run);
+
+            for (int i = 0; i < validators; i++) {
+                put(run.chunks, END_OF_CHUNKS);
+            }
+            await(validatorTasks, run);
+            for (BlockingQueue<ValidatedChunk> partition : run.partitions) {
+                put(partition, END_OF_VALIDATED);
+            }
+            await(writerTasks, run);
+        } finally {
+            cancel(validatorTasks);
+            cancel(writerTasks);
+            context.getMetrics().finish();
+        }
+
+        if (run.failure.get() != null) {
+            throw run.failure.get();
+        }
+    }
+
+    private void parseChunks(ImportReader reader, PipelineRun run) {
+        ImportMetrics metrics = run.context.getMetrics();
+        int chunkSize = importProperties.getChunkSize();
+        int offset = 0;
+        List<OrganizationRequestDTO> rows = new ArrayList<>(chunkSize);
+
+        metrics.switchTo(ImportStage.PARSE);
+        try {
+            OrganizationRequestDTO organization;
+            while (!run.isFailed() && (organization = reader.next()) != null) {
+                rows.add(organization);
+                if (rows.size() >= chunkSize) {
+                    handOff(run, new ImportChunk(offset, rows));
+                    offset += rows.size();
+                    rows = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!rows.isEmpty()) {
+                handOff(run, new ImportChunk(offset, rows));
+            }
+        } catch (IOException e) {
+            run.fail(importBatchValidator.rowFailed(offset + rows.size() + 1, "Failed to parse file", e));
+        } catch (MyException e) {
+            run.fail(e);
+        } finally {
+            metrics.stop();
+        }
+    }
+
+    private void handOff(PipelineRun run, ImportChunk chunk) {
+        ImportMetrics metrics = run.context.getMetrics();
+        metrics.stop();
+        put(run.chunks, chunk);
+        metrics.switchTo(ImportStage.PARSE);
+    }
+
+    private void validateChunks(PipelineRun run) {
+        ImportChunk chunk;
+        while ((chunk = take(run.chunks)) != END_OF_CHUNKS) {
+            if (run.isFailed()) {
+                continue;
+            }
+            try {
+                partition(new ValidatedChunk(chunk.offset(), validateChunk(chunk, run)), run);
+            } catch (MyException e) {
+                run.fail(e);
+            } catch (RuntimeException e) {
+                run.fail(importBatchValidator.rowFailed(chunk.offset() + 1, e.getMessage(), e));
+            }
+        }
+    }
+
+    private List<Organization> validateChunk(ImportChunk chunk, PipelineRun run) {
+        ImportMetrics metrics = run.context.getMetrics();
+        List<ImportRowErrorDTO> errors = new ArrayList<>();
+
+        List<Organization> organizations = transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            long started = System.nanoTime();
+            List<Organization> built =
+                    importBatchValidator.buildChunk(chunk.rows(), chunk.offset(), run.validationContext, errors);
+            long validated = System.nanoTime();
+            importBatchValidator.validateChunk(built, chunk.offset(), run.validationContext, errors);
+            metrics.record(ImportStage.RESOLVE, validated - started);
+            metrics.record(ImportStage.VALIDATE, System.nanoTime() - validated);
+            return built;
+        });
+        if (!errors.isEmpty()) {
+            throw importBatchValidator.chunkFailed(run.validationContext, errors);
+        }
+        return organizations;
+    }
+
+    private void partition(ValidatedChunk chunk, PipelineRun run) {
+        int writers = run.partitions.size();
+        List<List<Organization>> partitioned = new ArrayList<>(writers);
+        for (int i = 0; i < writers; i++) {
+            partitioned.add(new ArrayList<>());
+        }
+        for (Organization organization : chunk.organizations()) {
+            partitioned
+                    .get(Math.floorMod(Objects.hashCode(organization.getFullName()), writers))
+                    .add(organization);
+        }
+        for (int i = 0; i < writers; i++) {
+            if (!partitioned.get(i).isEmpty()) {
+                put(run.partitions.get(i), new ValidatedChunk(chunk.offset(), partitioned.get(i)));
+            }
+        }
+    }
+
+    private void writePartition(BlockingQueue<ValidatedChunk> partition, PipelineRun run) {
+        boolean finished = false;
+        while (!finished) {
+            ValidatedChunk chunk = take(partition);
+            finished = chunk == END_OF_VALIDATED;
+            if (finished) {
+                continue;
+            }
+            List<Organization> batch = new ArrayList<>(chunk.organizations());
+            ValidatedChunk next;
+            while (batch.size() < importProperties.getChunkSize() && (next = partition.poll()) != null) {
+                finished = next == END_OF_VALIDATED;
+                if (finished) {
+                    break;
+                }
+                batch.addAll(next.organizations());
+            }
+            if (!run.isFailed()) {
+                writeChunk(new ValidatedChunk(chunk.offset(), batch), run);
+            }
+        }
+    }
+
+    private void writeChunk(ValidatedChunk chunk, PipelineRun run) {
+        ImportMetrics metrics = run.context.getMetrics();
+        try {
+            long started = System.nanoTime();
+            run.context
+                    .getTicket()
+                    .runTurn(() -> transactionTemplate.executeWithoutResult(status -> {
+                        for (Organization organization : chunk.organizations()) {
+                            attachReferences(organization);
+                        }
+                        organizationService.saveImportedOrganizations(chunk.organizations());
+                        entityManager.flush();
+                        entityManager.clear();
+                        changeEventBus.publishImported(
+                                ChangeEntityType.ORGANIZATION,
+                                run.context.getImportHistory().getId());
+                    }));
+            long written = System.nanoTime();
+            metrics.record(ImportStage.INSERT, written - started);
+            metrics.chunkWritten(chunk.organizations().size());
+
+            run.committed(chunk.organizations().size());
+            metrics.record(ImportStage.CHECKPOINT, System.nanoTime() - written);
+        } catch (MyException e) {
+            run.fail(e);
+        } catch (RuntimeException e) {
+            run.fail(importBatchValidator.rowFailed(chunk.offset() + 1, e.getMessage(), e));
+        }
+    }
+
+    private void attachReferences(Organization organization) {
+        organization.setCoordinates(reference(Coordinates.class, organization.getCoordinates()));
+        organization.setOfficialAddress(attachAddress(organization.getOfficialAddress()));
+        organization.setPostalAddress(attachAddress(organization.getPostalAddress()));
+    }
+
+    private Address attachAddress(Address address) {
+        if (address.getId() != null) {
+            return entityManager.getReference(Address.class, address.getId());
+        }
+        if (address.getTown() != null) {
+            address.setTown(reference(Location.class, address.getTown()));
+        }
+        return address;
+    }
+
+    private <T> T reference(Class<T> type, T entity) {
+        Object id =
+                entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity);
+        return id == null ? entity : entityManager.getReference(type, id);
+    }
+
+    private <T> void put(BlockingQueue<T> queue, T element) {
+        try {
+            queue.put(element);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MyException("Import was interrupted", HttpStatus.INTERNAL_SERVER_ERROR, e);
+        }
+    }
+
+    private <T> T take(BlockingQueue<T> queue) {
+        try {
+            return queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MyException("Import was interrupted", HttpStatus.INTERNAL_SERVER_ERROR, e);
+        }
+    }
+
+    private void cancel(List<Future<?>> tasks) {
+        for (Future<?> task : tasks) {
+            task.cancel(true);
+        }
+    }
+
+    private void await(List<Future<?>> tasks, PipelineRun run) {
+        for (Future<?> task : tasks) {
+            try {
+                task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                run.fail(new MyException("Import was interrupted", HttpStatus.INTERNAL_SERVER_ERROR, e));
+            } catch (ExecutionException e) {
+                run.fail(new MyException(
+                        "Import failed. " + e.getCause().getMessage(), HttpStatus.INTERNAL_SERVER_ERROR, e));
+            }
+        }
+    }
+
+    private record ImportChunk(int offset, List<OrganizationRequestDTO> rows) {}
+
+    private record ValidatedChunk(int offset, List<Organization> organizations) {}
+
+    private class PipelineRun {
+
+        private final ImportContext context;
+        private final ImportContext validationContext;
+        private final BlockingQueue<ImportChunk> chunks;
+        private final List<BlockingQueue<ValidatedChunk>> partitions = new ArrayList<>();
+        private final AtomicReference<MyException> failure = new AtomicReference<>();
+
+        private PipelineRun(ImportContext context, int writers, int queueCapacity) {
+            this.context = context;
+            this.validationContext = new ImportContext(context.getImportHistory(), context.getMemoryBudget());
+            this.chunks = new ArrayBlockingQueue<>(queueCapacity);
+            for (int i = 0; i < writers; i++) {
+                partitions.add(new ArrayBlockingQueue<>(queueCapacity));
+            }
+        }
+
+        private boolean isFailed() {
+            return failure.get() != null;
+        }
+
+        private void fail(MyException e) {
+            failure.compareAndSet(null, e);
+        }
+
+        private void committed(int rows) {
+            ImportHistory importHistory = context.getImportHistory();
+            synchronized (importHistory) {
+                importHistory.setCounter(importHistory.getCounter() + rows);
+                context.getMetrics().applyTo(importHistory);
+                importHistoryService.saveImportHistory(importHistory, ImportHistory.RUNNING_STATUS);
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package is.is_backend.importer;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class SpillableIndex<K> {
+
+    private static final long ENTRY_OVERHEAD_BYTES = 96;
+
+    private final ImportMemoryBudget budget;
+    private Set<K> entries = new HashSet<>();
+    private long reservedBytes;
+    private DiskHashIndex spilled;
+
+    SpillableIndex(ImportMemoryBudget budget) {
+        this.budget = budget;
+    }
+
+    public synchronized boolean add(K key) {
+        if (spilled == null) {
+            if (entries.contains(key)) {
+                return false;
+            }
+            long bytes = estimateBytes(key);
+            if (budget.reserve(bytes)) {
+                reservedBytes += bytes;
+                return entries.add(key);
+            }
+            spill();
+        }
+        return spilled.add(String.valueOf(key));
+    }
+
+    public synchronized boolean isSpilled() {
+        return spilled != null;
+    }
+
+    private void spill() {
+        spilled = budget.spill();
+        entries.forEach(key -> spilled.add(String.valueOf(key)));
+        entries = null;
+        budget.release(reservedBytes);
+        reservedBytes = 0;
+    }
+
+    private static long estimateBytes(Object key) {
+        return ENTRY_OVERHEAD_BYTES + 2L * String.valueOf(key).length();
+    }
+}
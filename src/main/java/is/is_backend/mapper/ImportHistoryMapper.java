@@ -13,6 +13,21 @@ public class ImportHistoryMapper {
         dto.setCreationDate(importHistory.getCreationDate());
         dto.setStatus(importHistory.getStatus());
         dto.setCounter(importHistory.getCounter());
+        dto.setImportMode(importHistory.getImportMode());
+        dto.setClientId(importHistory.getClientId());
+        dto.setMessage(importHistory.getMessage());
+        dto.setFileHash(importHistory.getFileHash());
+        dto.setDuplicateOfId(importHistory.getDuplicateOfId());
+        dto.setDurationMillis(importHistory.getDurationMillis());
+        dto.setParseMillis(importHistory.getParseMillis());
+        dto.setResolveMillis(importHistory.getResolveMillis());
+        dto.setValidateMillis(importHistory.getValidateMillis());
+        dto.setInsertMillis(importHistory.getInsertMillis());
+        dto.setCheckpointMillis(importHistory.getCheckpointMillis());
+        dto.setRowsPerSecond(importHistory.getRowsPerSecond());
+        dto.setBytesRead(importHistory.getBytesRead());
+        dto.setChunkCount(importHistory.getChunkCount());
+        dto.setPeakBatchSize(importHistory.getPeakBatchSize());
         return dto;
     }
 }
@@ -0,0 +1,19 @@
+package is.is_backend.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "change_feed_head")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeFeedHead {
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private Long position;
+}
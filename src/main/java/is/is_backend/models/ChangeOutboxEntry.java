@@ -0,0 +1,41 @@
+package is.is_backend.models;
+
+import is.is_backend.models.enums.ChangeEntityType;
+import is.is_backend.models.enums.ChangeOperation;
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+
+@Entity
+@Table(name = "change_outbox")
+@Data
+public class ChangeOutboxEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "change_outbox_seq")
+    @SequenceGenerator(name = "change_outbox_seq", sequenceName = "change_outbox_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private Long position;
+
+    @CreationTimestamp
+    @Column(name = "creation_date", nullable = false, updatable = false)
+    private java.time.ZonedDateTime creationDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", length = 16, nullable = false)
+    private ChangeEntityType entityType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16, nullable = false)
+    private ChangeOperation operation;
+
+    @Column(name = "entity_id")
+    private Long entityId;
+
+    @Column(name = "import_id")
+    private Long importId;
+
+    @Column(length = 65535)
+    private String payload;
+}
@@ -14,7 +14,8 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class Coordinates {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "coordinates_seq")
+    @SequenceGenerator(name = "coordinates_seq", sequenceName = "coordinates_seq", allocationSize = 50)
     private Long id;
 
     private long x = 0;
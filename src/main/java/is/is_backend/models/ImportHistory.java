@@ -1,13 +1,23 @@
 package is.is_backend.models;
 
+import is.is_backend.models.enums.ImportMode;
 import jakarta.persistence.*;
 import lombok.Data;
 import org.hibernate.annotations.CreationTimestamp;
 
 @Entity
-@Table(name = "import_history")
+@Table(
+        name = "import_history",
+        uniqueConstraints =
+                @UniqueConstraint(name = "uk_import_history_claimed_file_hash", columnNames = "claimed_file_hash"))
 @Data
 public class ImportHistory {
+    public static final int SUCCESS_STATUS = 0;
+    public static final int ERROR_STATUS = 1;
+    public static final int RUNNING_STATUS = 2;
+    public static final int QUEUED_STATUS = 3;
+    public static final int SKIPPED_STATUS = 4;
+
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private long id;
@@ -19,4 +29,65 @@ public class ImportHistory {
     private Integer status;
 
     private Integer counter;
+
+    @Column(length = 1000)
+    private String message;
+
+    @Column(name = "file_hash", length = 64)
+    private String fileHash;
+
+    @Column(name = "claimed_file_hash", length = 64)
+    private String claimedFileHash;
+
+    @Column(name = "duplicate_of_id")
+    private Long duplicateOfId;
+
+    @Column(name = "duration_millis")
+    private Long durationMillis;
+
+    @Column(name = "parse_millis")
+    private Long parseMillis;
+
+    @Column(name = "resolve_millis")
+    private Long resolveMillis;
+
+    @Column(name = "validate_millis")
+    private Long validateMillis;
+
+    @Column(name = "insert_millis")
+    private Long insertMillis;
+
+    @Column(name = "checkpoint_millis")
+    private Long checkpointMillis;
+
+    @Column(name = "rows_per_second")
+    private Double rowsPerSecond;
+
+    @Column(name = "bytes_read")
+    private Long bytesRead;
+
+    @Column(name = "chunk_count")
+    private Integer chunkCount;
+
+    @Column(name = "peak_batch_size")
+    private Integer peakBatchSize;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "import_mode", length = 16)
+    private ImportMode importMode;
+
+    @Column(name = "client_id")
+    private String clientId;
+
+    @Column(name = "owner_node")
+    private String ownerNode;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Column(name = "spool_file", length = 1024)
+    private String spoolFile;
 }
@@ -10,14 +10,15 @@ import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
 
 @Entity
-@Table(name = "organizations")
+@Table(name = "organizations", indexes = @Index(name = "idx_organizations_full_name", columnList = "full_name"))
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Organization {
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "organizations_seq")
+    @SequenceGenerator(name = "organizations_seq", sequenceName = "organizations_seq", allocationSize = 50)
     private long id;
 
     @Column(nullable = false)
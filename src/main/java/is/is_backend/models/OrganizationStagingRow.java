@@ -0,0 +1,118 @@
+package is.is_backend.models;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+@Entity
+@Table(
+        name = "organization_staging",
+        indexes = @Index(name = "idx_organization_staging_import", columnList = "import_id"))
+@Data
+public class OrganizationStagingRow {
+    @Id
+    @Column(name = "organization_id")
+    private Long organizationId;
+
+    @Column(name = "import_id", nullable = false)
+    private Long importId;
+
+    @Column(name = "row_num", nullable = false)
+    private Integer rowNumber;
+
+    private String name;
+
+    @Column(name = "full_name")
+    private String fullName;
+
+    @Column(name = "organization_type")
+    private String organizationType;
+
+    @Column(name = "annual_turnover")
+    private Double annualTurnover;
+
+    @Column(name = "employees_count")
+    private Integer employeesCount;
+
+    private Float rating;
+
+    @Column(name = "coordinates_id")
+    private Long coordinatesId;
+
+    @Column(name = "coordinates_new")
+    private Boolean coordinatesNew;
+
+    @Column(name = "coordinates_x")
+    private Long coordinatesX;
+
+    @Column(name = "coordinates_y")
+    private Float coordinatesY;
+
+    @Column(name = "official_address_id")
+    private Long officialAddressId;
+
+    @Column(name = "official_address_new")
+    private Boolean officialAddressNew;
+
+    @Column(name = "official_zip_code")
+    private String officialZipCode;
+
+    @Column(name = "official_location_id")
+    private Long officialLocationId;
+
+    @Column(name = "official_location_new")
+    private Boolean officialLocationNew;
+
+    @Column(name = "official_location_x")
+    private Float officialLocationX;
+
+    @Column(name = "official_location_y")
+    private Double officialLocationY;
+
+    @Column(name = "official_location_z")
+    private Float officialLocationZ;
+
+    @Column(name = "official_location_name")
+    private String officialLocationName;
+
+    @Column(name = "postal_address_id")
+    private Long postalAddressId;
+
+    @Column(name = "postal_address_new")
+    private Boolean postalAddressNew;
+
+    @Column(name = "postal_zip_code")
+    private String postalZipCode;
+
+    @Column(name = "postal_location_id")
+    private Long postalLocationId;
+
+    @Column(name = "postal_location_new")
+    private Boolean postalLocationNew;
+
+    @Column(name = "postal_location_x")
+    private Float postalLocationX;
+
+    @Column(name = "postal_location_y")
+    private Double postalLocationY;
+
+    @Column(name = "postal_location_z")
+    private Float postalLocationZ;
+
+    @Column(name = "postal_location_name")
+    private String postalLocationName;
+
+    @Column(name = "old_coordinates_id")
+    private Long oldCoordinatesId;
+
+    @Column(name = "old_official_address_id")
+    private Long oldOfficialAddressId;
+
+    @Column(name = "old_official_location_id")
+    private Long oldOfficialLocationId;
+
+    @Column(name = "old_postal_address_id")
+    private Long oldPostalAddressId;
+
+    @Column(name = "old_postal_location_id")
+    private Long oldPostalLocationId;
+}
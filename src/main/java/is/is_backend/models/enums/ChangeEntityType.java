@@ -0,0 +1,8 @@
+package is.is_backend.models.enums;
+
+public enum ChangeEntityType {
+    ORGANIZATION,
+    ADDRESS,
+    LOCATION,
+    COORDINATES
+}
@@ -0,0 +1,8 @@
+package is.is_backend.models.enums;
+
+public enum ChangeOperation {
+    CREATED,
+    UPDATED,
+    DELETED,
+    IMPORTED
+}
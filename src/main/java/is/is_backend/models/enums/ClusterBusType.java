@@ -0,0 +1,6 @@
+package is.is_backend.models.enums;
+
+public enum ClusterBusType {
+    IN_JVM,
+    OUTBOX
+}
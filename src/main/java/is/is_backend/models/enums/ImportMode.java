@@ -0,0 +1,8 @@
+package is.is_backend.models.enums;
+
+public enum ImportMode {
+    ATOMIC,
+    STREAMING,
+    PARALLEL,
+    UPSERT
+}
@@ -0,0 +1,18 @@
+package is.is_backend.repository;
+
+import is.is_backend.models.ChangeFeedHead;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ChangeFeedHeadRepository extends JpaRepository<ChangeFeedHead, Integer> {
+    @Modifying
+    @Query("update ChangeFeedHead h set h.position = h.position + :count where h.id = :id")
+    int advance(@Param("id") int id, @Param("count") long count);
+
+    @Query("select h.position from ChangeFeedHead h where h.id = :id")
+    long findPosition(@Param("id") int id);
+}
@@ -0,0 +1,25 @@
+package is.is_backend.repository;
+
+import is.is_backend.models.ChangeOutboxEntry;
+import java.time.ZonedDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface ChangeOutboxRepository extends JpaRepository<ChangeOutboxEntry, Long> {
+    List<ChangeOutboxEntry> findByPositionGreaterThanOrderByPositionAsc(long position, Pageable pageable);
+
+    @Query("select coalesce(max(e.position), 0) from ChangeOutboxEntry e")
+    long findLastPosition();
+
+    @Transactional
+    @Modifying
+    @Query("delete from ChangeOutboxEntry e where e.creationDate < :before")
+    int deleteCreatedBefore(@Param("before") ZonedDateTime before);
+}
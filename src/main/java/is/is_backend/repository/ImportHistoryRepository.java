@@ -1,8 +1,26 @@
 package is.is_backend.repository;
 
 import is.is_backend.models.ImportHistory;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface ImportHistoryRepository extends JpaRepository<ImportHistory, Long> {}
+public interface ImportHistoryRepository extends JpaRepository<ImportHistory, Long> {
+    List<ImportHistory> findByOwnerNodeAndStatusIn(String ownerNode, Collection<Integer> statuses);
+
+    Optional<ImportHistory> findByClaimedFileHash(String claimedFileHash);
+
+    List<ImportHistory> findByOwnerNodeAndStatusAndSpoolFileIsNotNullAndCreationDateBefore(
+            String ownerNode, Integer status, ZonedDateTime creationDate);
+
+    @Modifying
+    @Query("update ImportHistory h set h.counter = :counter where h.id = :id")
+    void updateCounter(@Param("id") long id, @Param("counter") int counter);
+}
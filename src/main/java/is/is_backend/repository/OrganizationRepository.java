@@ -2,11 +2,14 @@ package is.is_backend.repository;
 
 import is.is_backend.models.Organization;
 import is.is_backend.models.enums.OrganizationType;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -26,4 +29,11 @@ public interface OrganizationRepository extends JpaRepository<Organization, Long
     boolean existsByPostalAddressZipCodeAndTypeAndIdNot(String postalAddressZipCode, OrganizationType type, Long id);
 
     boolean existsByPostalAddressZipCodeAndType(String postalAddressZipCode, OrganizationType type);
+
+    @Query("select o.fullName from Organization o where o.fullName in :fullNames")
+    List<String> findFullNamesIn(@Param("fullNames") Collection<String> fullNames);
+
+    @Query("select o.postalAddress.zipCode, o.type, o.fullName from Organization o"
+            + " where o.postalAddress.zipCode in :zipCodes")
+    List<Object[]> findPostalZipCodeOwnersIn(@Param("zipCodes") Collection<String> zipCodes);
 }
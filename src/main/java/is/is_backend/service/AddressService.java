@@ -4,10 +4,13 @@ import is.is_backend.builder.AddressBuilder;
 import is.is_backend.dto.addressDto.AddressPageRequestDTO;
 import is.is_backend.dto.addressDto.AddressRequestDTO;
 import is.is_backend.dto.addressDto.AddressResponseDTO;
+import is.is_backend.event.ChangeEventBus;
 import is.is_backend.exception.MyException;
 import is.is_backend.mapper.AddressMapper;
 import is.is_backend.models.Address;
 import is.is_backend.models.Organization;
+import is.is_backend.models.enums.ChangeEntityType;
+import is.is_backend.models.enums.ChangeOperation;
 import is.is_backend.repository.AddressRepository;
 import is.is_backend.repository.OrganizationRepository;
 import is.is_backend.specification.AddressSpecification;
@@ -19,6 +22,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @AllArgsConstructor
@@ -27,15 +31,18 @@ public class AddressService {
     private final AddressRepository addressRepository;
     private final AddressBuilder addressBuilder;
     private final OrganizationRepository organizationRepository;
-    private final NotificationService notificationService;
+    private final ChangeEventBus changeEventBus;
 
+    @Transactional
     public AddressResponseDTO createAddress(AddressRequestDTO addressRequestDTO) {
         Address address = addressBuilder.buildFromRequest(addressRequestDTO);
         Address savedAddress = addressRepository.save(address);
-        notificationService.notifyAllSubscribers();
-        return AddressMapper.toResponseDTO(savedAddress);
+        AddressResponseDTO response = AddressMapper.toResponseDTO(savedAddress);
+        changeEventBus.publish(ChangeEntityType.ADDRESS, ChangeOperation.CREATED, response.getId(), response);
+        return response;
     }
 
+    @Transactional
     public AddressResponseDTO updateAddress(Long id, AddressRequestDTO addressRequestDTO) {
         Address updatedAddress = addressRepository.findById(id).orElse(null);
         if (updatedAddress == null) {
@@ -45,10 +52,12 @@ public class AddressService {
         updatedAddress.setTown(address.getTown());
         updatedAddress.setZipCode(address.getZipCode());
         addressRepository.save(updatedAddress);
-        notificationService.notifyAllSubscribers();
-        return AddressMapper.toResponseDTO(updatedAddress);
+        AddressResponseDTO response = AddressMapper.toResponseDTO(updatedAddress);
+        changeEventBus.publish(ChangeEntityType.ADDRESS, ChangeOperation.UPDATED, id, response);
+        return response;
     }
 
+    @Transactional
     public AddressResponseDTO deleteAddress(Long id, Boolean forceDelete, Long redirectToAddressId) {
         validateDeleteParameters(id, forceDelete, redirectToAddressId);
         Address addressToDelete = addressRepository
@@ -64,9 +73,15 @@ public class AddressService {
                             new MyException("Address not found with id: " + redirectToAddressId, HttpStatus.NOT_FOUND));
             validateRedirectConditions(redirectAddress);
             performRedirectAndDelete(addressToDelete, redirectAddress);
+            changeEventBus.publish(
+                    ChangeEntityType.ADDRESS,
+                    ChangeOperation.UPDATED,
+                    redirectAddress.getId(),
+                    AddressMapper.toResponseDTO(redirectAddress));
         }
-        notificationService.notifyAllSubscribers();
-        return AddressMapper.toResponseDTO(addressToDelete);
+        AddressResponseDTO response = AddressMapper.toResponseDTO(addressToDelete);
+        changeEventBus.publish(ChangeEntityType.ADDRESS, ChangeOperation.DELETED, id, response);
+        return response;
     }
 
     public Page<AddressResponseDTO> getAllAddressesWhereLocationNull(Pageable pageable) {
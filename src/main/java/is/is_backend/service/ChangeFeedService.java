@@ -0,0 +1,100 @@
+package is.is_backend.service;
+
+import is.is_backend.config.ChangeFeedProperties;
+import is.is_backend.dto.changeEventDto.ChangeEventDTO;
+import is.is_backend.dto.changeEventDto.ChangeFeedDTO;
+import is.is_backend.event.ChangeEventListener;
+import is.is_backend.event.ChangeOutbox;
+import is.is_backend.exception.MyException;
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+
+@Service
+public class ChangeFeedService implements ChangeEventListener {
+
+    private final ChangeOutbox changeOutbox;
+    private final ChangeFeedProperties changeFeedProperties;
+    private final ThreadPoolTaskScheduler changeFeedTaskScheduler;
+    private final Set<FeedPoll> polls = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean completionScheduled = new AtomicBoolean();
+
+    public ChangeFeedService(
+            ChangeOutbox changeOutbox,
+            ChangeFeedProperties changeFeedProperties,
+            ThreadPoolTaskScheduler changeFeedTaskScheduler) {
+        this.changeOutbox = changeOutbox;
+        this.changeFeedProperties = changeFeedProperties;
+        this.changeFeedTaskScheduler = changeFeedTaskScheduler;
+    }
+
+    @PostConstruct
+    public void scheduleCleanup() {
+        changeFeedTaskScheduler.scheduleWithFixedDelay(
+                () -> changeOutbox.deleteOlderThan(changeFeedProperties.getRetention()),
+                changeFeedProperties.getCleanupInterval());
+    }
+
+    public DeferredResult<ChangeFeedDTO> poll(long since, int limit) {
+        if (since < 0 || limit < 1 || limit > changeFeedProperties.getMaxLimit()) {
+            throw new MyException(
+                    "since must be non-negative and limit between 1 and " + changeFeedProperties.getMaxLimit(),
+                    HttpStatus.BAD_REQUEST);
+        }
+        long timeout = changeFeedProperties.getPollTimeout().toMillis();
+        DeferredResult<ChangeFeedDTO> result = new DeferredResult<>(timeout);
+        FeedPoll poll = new FeedPoll(since, limit, result);
+        result.onCompletion(() -> polls.remove(poll));
+        result.onTimeout(() -> {
+            complete(poll, changeOutbox.readSince(since, limit));
+            result.setResult(new ChangeFeedDTO(since, List.of()));
+        });
+        polls.add(poll);
+        complete(poll, changeOutbox.readSince(since, limit));
+        return result;
+    }
+
+    @Override
+    public void onChanges(List<ChangeEventDTO> events) {
+        if (!polls.isEmpty() && completionScheduled.compareAndSet(false, true)) {
+            changeFeedTaskScheduler.execute(this::completeWaiting);
+        }
+    }
+
+    private void completeWaiting() {
+        completionScheduled.set(false);
+        Map<Long, List<FeedPoll>> pollsBySince = new LinkedHashMap<>();
+        for (FeedPoll poll : polls) {
+            pollsBySince
+                    .computeIfAbsent(poll.since(), since -> new ArrayList<>())
+                    .add(poll);
+        }
+        pollsBySince.forEach((since, waiting) -> {
+            List<ChangeEventDTO> changes = changeOutbox.readSince(since, changeFeedProperties.getMaxLimit());
+            for (FeedPoll poll : waiting) {
+                complete(poll, changes.subList(0, Math.min(poll.limit(), changes.size())));
+            }
+        });
+    }
+
+    private void complete(FeedPoll poll, List<ChangeEventDTO> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        long cursor = changes.get(changes.size() - 1).getSequence();
+        if (poll.result().setResult(new ChangeFeedDTO(cursor, new ArrayList<>(changes)))) {
+            polls.remove(poll);
+        }
+    }
+
+    private record FeedPoll(long since, int limit, DeferredResult<ChangeFeedDTO> result) {}
+}
@@ -1,9 +1,13 @@
 package is.is_backend.service;
 
 import is.is_backend.dto.coordinatesDto.CoordinatesPageRequestDTO;
+import is.is_backend.event.ChangeEventBus;
 import is.is_backend.exception.MyException;
+import is.is_backend.mapper.CoordinatesMapper;
 import is.is_backend.models.Coordinates;
 import is.is_backend.models.Organization;
+import is.is_backend.models.enums.ChangeEntityType;
+import is.is_backend.models.enums.ChangeOperation;
 import is.is_backend.repository.CoordinatesRepository;
 import is.is_backend.repository.OrganizationRepository;
 import java.util.List;
@@ -13,6 +17,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @AllArgsConstructor
@@ -20,14 +25,20 @@ public class CoordinatesService {
 
     private CoordinatesRepository coordinatesRepository;
     private OrganizationRepository organizationRepository;
-    private final NotificationService notificationService;
+    private final ChangeEventBus changeEventBus;
 
+    @Transactional
     public Coordinates createCoordinate(Coordinates coordinates) {
         Coordinates savedCoordinates = coordinatesRepository.save(coordinates);
-        notificationService.notifyAllSubscribers();
+        changeEventBus.publish(
+                ChangeEntityType.COORDINATES,
+                ChangeOperation.CREATED,
+                savedCoordinates.getId(),
+                CoordinatesMapper.toResponseDTO(savedCoordinates));
         return savedCoordinates;
     }
 
+    @Transactional
     public Coordinates updateCoordinate(Long id, Coordinates coordinates) {
         Coordinates updatedCoordinates = coordinatesRepository.findById(id).orElse(null);
         if (updatedCoordinates == null) {
@@ -36,10 +47,15 @@ public class CoordinatesService {
         updatedCoordinates.setX(coordinates.getX());
         updatedCoordinates.setY(coordinates.getY());
         coordinatesRepository.save(updatedCoordinates);
-        notificationService.notifyAllSubscribers();
+        changeEventBus.publish(
+                ChangeEntityType.COORDINATES,
+                ChangeOperation.UPDATED,
+                id,
+                CoordinatesMapper.toResponseDTO(updatedCoordinates));
         return updatedCoordinates;
     }
 
+    @Transactional
     public Coordinates deleteCoordinate(Long id) {
         Coordinates coordinates = coordinatesRepository.findById(id).orElse(null);
         if (coordinates == null) {
@@ -47,7 +63,11 @@ public class CoordinatesService {
         }
         checkCoordinatesUsage(coordinates);
         coordinatesRepository.delete(coordinates);
-        notificationService.notifyAllSubscribers();
+        changeEventBus.publish(
+                ChangeEntityType.COORDINATES,
+                ChangeOperation.DELETED,
+                id,
+                CoordinatesMapper.toResponseDTO(coordinates));
         return coordinates;
     }
 
@@ -0,0 +1,163 @@
+package is.is_backend.service;
+
+import is.is_backend.config.ImportProperties;
+import is.is_backend.exception.MyException;
+import is.is_backend.models.ImportHistory;
+import is.is_backend.models.enums.ImportMode;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+@Service
+public class HotFolderImportService {
+
+    private static final String DONE_DIRECTORY = "done";
+    private static final String FAILED_DIRECTORY = "failed";
+    private static final String PROCESSING_DIRECTORY = "processing";
+    private static final String CLIENT_ID = "hot-folder";
+
+    private final ImportService importService;
+    private final ImportProperties importProperties;
+    private final Set<Path> awaitingAdmission = new LinkedHashSet<>();
+    private WatchService watchService;
+
+    public HotFolderImportService(ImportService importService, ImportProperties importProperties) {
+        this.importService = importService;
+        this.importProperties = importProperties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        if (!StringUtils.hasText(importProperties.getHotFolder())) {
+            return;
+        }
+        if (importProperties.getHotFolderMode() == ImportMode.ATOMIC) {
+            throw new IllegalStateException("ATOMIC mode is not supported for the import hot folder");
+        }
+        Path directory = Path.of(importProperties.getHotFolder());
+        Files.createDirectories(directory.resolve(DONE_DIRECTORY));
+        Files.createDirectories(directory.resolve(FAILED_DIRECTORY));
+        Files.createDirectories(directory.resolve(PROCESSING_DIRECTORY));
+        failInterruptedFiles(directory);
+        awaitingAdmission.clear();
+
+        watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        Thread watcher = new Thread(() -> watch(directory), "import-hot-folder");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    private void watch(Path directory) {
+        long settleMillis = importProperties.getHotFolderSettleTime().toMillis();
+        try {
+            while (true) {
+                importPendingFiles(directory);
+                WatchKey key = watchService.poll(settleMillis, TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    key.pollEvents();
+                    if (!key.reset()) {
+                        return;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // the application is shutting down
+        }
+    }
+
+    private void failInterruptedFiles(Path directory) throws IOException {
+        try (Stream<Path> entries = Files.list(directory.resolve(PROCESSING_DIRECTORY))) {
+            for (Path file : entries.toList()) {
+                moveQuietly(file, directory.resolve(FAILED_DIRECTORY).resolve("interrupted-" + file.getFileName()));
+            }
+        }
+    }
+
+    private void importPendingFiles(Path directory) {
+        for (Path processing : List.copyOf(awaitingAdmission)) {
+            if (!importProcessingFile(directory, processing)) {
+                return;
+            }
+        }
+        List<Path> files;
+        try (Stream<Path> entries = Files.list(directory)) {
+            files = entries.filter(this::isPending).sorted().toList();
+        } catch (IOException e) {
+            return;
+        }
+        for (Path file : files) {
+            Path processing = directory.resolve(PROCESSING_DIRECTORY).resolve(file.getFileName());
+            if (moveQuietly(file, processing) && !importProcessingFile(directory, processing)) {
+                return;
+            }
+        }
+    }
+
+    private boolean isPending(Path file) {
+        String name = file.getFileName().toString();
+        if (!Files.isRegularFile(file) || name.startsWith(".") || name.endsWith(".part") || name.endsWith(".tmp")) {
+            return false;
+        }
+        try {
+            Instant settledBefore = Instant.now().minus(importProperties.getHotFolderSettleTime());
+            return Files.getLastModifiedTime(file).toInstant().isBefore(settledBefore);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private boolean importProcessingFile(Path directory, Path processing) {
+        ImportHistory importHistory;
+        try {
+            importHistory = importService.importFile(processing, importProperties.getHotFolderMode(), CLIENT_ID);
+        } catch (MyException e) {
+            // no import slot was free within the admission timeout, the file waits in processing
+            awaitingAdmission.add(processing);
+            return false;
+        }
+        awaitingAdmission.remove(processing);
+        boolean imported = importHistory.getStatus() == ImportHistory.SUCCESS_STATUS
+                || importHistory.getStatus() == ImportHistory.SKIPPED_STATUS;
+        Path target = directory
+                .resolve(imported ? DONE_DIRECTORY : FAILED_DIRECTORY)
+                .resolve(importHistory.getId() + "-" + processing.getFileName());
+        moveQuietly(processing, target);
+        return true;
+    }
+
+    private boolean moveQuietly(Path source, Path target) {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException e) {
+            // the file is left where it is; files in processing are never picked up again
+            return false;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package is.is_backend.service;
 
+import is.is_backend.config.ImportProperties;
 import is.is_backend.dto.importHistoryDto.ImportHistoryResponseDTO;
+import is.is_backend.exception.MyException;
 import is.is_backend.mapper.ImportHistoryMapper;
 import is.is_backend.models.ImportHistory;
 import is.is_backend.repository.ImportHistoryRepository;
@@ -10,6 +12,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,17 +23,32 @@ public class ImportHistoryService {
 
     private final ImportHistoryRepository importHistoryRepository;
     private final ImportHistoryMapper importHistoryMapper;
+    private final NotificationService notificationService;
+    private final ImportProperties importProperties;
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void saveImportHistory(ImportHistory importHistory, int status) {
         importHistory.setStatus(status);
+        if (status == ImportHistory.ERROR_STATUS) {
+            importHistory.setClaimedFileHash(null);
+        }
         importHistoryRepository.save(importHistory);
+        notificationService.notifyImportProgress(importHistoryMapper.toResponseDTO(importHistory));
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void claimImportHistory(ImportHistory importHistory, int status) {
+        importHistory.setStatus(status);
+        importHistory.setClaimedFileHash(importHistory.getFileHash());
+        importHistoryRepository.saveAndFlush(importHistory);
+        notificationService.notifyImportProgress(importHistoryMapper.toResponseDTO(importHistory));
     }
 
     public ImportHistory createImportHistory() {
         ImportHistory importHistory = new ImportHistory();
         importHistory.setCreationDate(ZonedDateTime.now());
         importHistory.setCounter(0);
+        importHistory.setOwnerNode(importProperties.getNodeId());
         return importHistory;
     }
 
@@ -40,4 +58,11 @@ public class ImportHistoryService {
         Page<ImportHistory> importHistoryPage = importHistoryRepository.findAll(pageable);
         return importHistoryPage.map(importHistoryMapper::toResponseDTO);
     }
+
+    public ImportHistoryResponseDTO getImportHistory(Long id) {
+        return importHistoryRepository
+                .findById(id)
+                .map(importHistoryMapper::toResponseDTO)
+                .orElseThrow(() -> new MyException("Import not found with id: " + id, HttpStatus.NOT_FOUND));
+    }
 }
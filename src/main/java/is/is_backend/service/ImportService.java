@@ -1,84 +1,666 @@
 package is.is_backend.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import is.is_backend.config.ImportProperties;
+import is.is_backend.dto.importHistoryDto.ImportHistoryResponseDTO;
+import is.is_backend.dto.importHistoryDto.ImportRowErrorDTO;
 import is.is_backend.dto.organizationDto.OrganizationRequestDTO;
+import is.is_backend.event.ChangeEventBus;
 import is.is_backend.exception.MyException;
+import is.is_backend.importer.ImportBatchValidator;
+import is.is_backend.importer.ImportContext;
+import is.is_backend.importer.ImportFormat;
+import is.is_backend.importer.ImportFormatResolver;
+import is.is_backend.importer.ImportMemoryBudget;
+import is.is_backend.importer.ImportMetrics;
+import is.is_backend.importer.ImportReader;
+import is.is_backend.importer.ImportScheduler;
+import is.is_backend.importer.ImportStage;
+import is.is_backend.importer.ImportTicket;
+import is.is_backend.importer.MappedFileInputStream;
+import is.is_backend.importer.OrganizationUpsertWriter;
+import is.is_backend.importer.ParallelImportPipeline;
+import is.is_backend.mapper.ImportHistoryMapper;
 import is.is_backend.models.ImportHistory;
+import is.is_backend.models.Organization;
+import is.is_backend.models.enums.ChangeEntityType;
+import is.is_backend.models.enums.ImportMode;
 import is.is_backend.repository.ImportHistoryRepository;
+import jakarta.persistence.EntityManager;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.AllArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Service
 @AllArgsConstructor
 public class ImportService {
 
     private ImportHistoryRepository importHistoryRepository;
-    private ObjectMapper objectMapper;
     private OrganizationService organizationService;
     private ImportHistoryService importHistoryService;
+    private ImportProperties importProperties;
+    private TransactionTemplate transactionTemplate;
+    private EntityManager entityManager;
+    private ImportHistoryMapper importHistoryMapper;
+    private ImportBatchValidator importBatchValidator;
+    private ObjectMapper objectMapper;
+    private ImportFormatResolver importFormatResolver;
+    private ChangeEventBus changeEventBus;
+    private ParallelImportPipeline parallelImportPipeline;
+    private OrganizationUpsertWriter organizationUpsertWriter;
+    private ImportScheduler importScheduler;
+
+    private final Set<Long> activeImports = ConcurrentHashMap.newKeySet();
 
-    private static final int SUCCESS_STATUS = 0;
-    private static final int ERROR_STATUS = 1;
     private static final int MAX_SIZE = 100;
+    private static final int MAX_MESSAGE_LENGTH = 1000;
 
-    @Transactional
-    public ImportHistory processImport(MultipartFile file) {
-        if (file.isEmpty()) {
-            throw new MyException("File cant be empty.", HttpStatus.BAD_REQUEST);
-        }
+    public ImportHistory processImport(MultipartFile file, String clientId) {
+        ImportFormat format = resolveFormat(file);
 
-        if (!isJsonFile(file)) {
-            throw new MyException("Invalid file format.", HttpStatus.UNSUPPORTED_MEDIA_TYPE);
-        }
+        try (ImportTicket ticket = importScheduler.admit(clientId, importProperties.getAdmissionTimeout())) {
+            ImportHistory importHistory = importHistoryService.createImportHistory();
+            importHistory.setImportMode(ImportMode.ATOMIC);
+            importHistory.setClientId(clientId);
+            ImportMetrics metrics = new ImportMetrics();
+            MessageDigest digest = sha256();
+            List<OrganizationRequestDTO> organizations = readAtomically(file, format, digest, importHistory, metrics);
 
-        ImportHistory importHistory = importHistoryService.createImportHistory();
+            Optional<ImportHistory> previousImport =
+                    claimFile(importHistory, HexFormat.of().formatHex(digest.digest()), ImportHistory.RUNNING_STATUS);
+            if (previousImport.isPresent()) {
+                return skipImport(previousImport.get());
+            }
+            runAtomicImport(ticket, organizations, importHistory, metrics);
+            return importHistory;
+        }
+    }
 
+    private void runAtomicImport(
+            ImportTicket ticket,
+            List<OrganizationRequestDTO> organizations,
+            ImportHistory importHistory,
+            ImportMetrics metrics) {
         try {
-            List<OrganizationRequestDTO> organizations = parseJSON(file);
+            ticket.runTurn(() -> transactionTemplate.executeWithoutResult(
+                    status -> importAtomically(organizations, importHistory, metrics)));
+        } catch (MyException e) {
+            if (!Objects.equals(importHistory.getStatus(), ImportHistory.ERROR_STATUS)) {
+                throw failImport(importHistory, e);
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            throw failAtomicImport(importHistory, metrics, e);
+        }
+    }
 
+    private List<OrganizationRequestDTO> readAtomically(
+            MultipartFile file,
+            ImportFormat format,
+            MessageDigest digest,
+            ImportHistory importHistory,
+            ImportMetrics metrics) {
+        try {
+            metrics.switchTo(ImportStage.PARSE);
+            List<OrganizationRequestDTO> organizations = readAll(file, format, digest, metrics);
             if (organizations.size() >= MAX_SIZE) {
-                importHistoryService.saveImportHistory(importHistory, ERROR_STATUS);
                 throw new MyException(
                         "Maximum import limit reached. Make it smaller than " + MAX_SIZE + ".", HttpStatus.BAD_REQUEST);
             }
+            return organizations;
+        } catch (RuntimeException e) {
+            throw failAtomicImport(importHistory, metrics, e);
+        }
+    }
 
+    private void importAtomically(
+            List<OrganizationRequestDTO> organizations, ImportHistory importHistory, ImportMetrics metrics) {
+        try {
+            metrics.switchTo(ImportStage.INSERT);
             for (OrganizationRequestDTO organization : organizations) {
                 organizationService.createOrganization(organization);
                 importHistory.setCounter(importHistory.getCounter() + 1);
             }
+            metrics.chunkWritten(organizations.size());
+            metrics.finish();
+            metrics.applyTo(importHistory);
 
-            importHistoryService.saveImportHistory(importHistory, SUCCESS_STATUS);
-            return importHistory;
+            importHistoryService.saveImportHistory(importHistory, ImportHistory.SUCCESS_STATUS);
         } catch (RuntimeException e) {
-            importHistoryService.saveImportHistory(importHistory, ERROR_STATUS);
+            throw failAtomicImport(importHistory, metrics, e);
+        }
+    }
+
+    private MyException failAtomicImport(ImportHistory importHistory, ImportMetrics metrics, RuntimeException e) {
+        metrics.finish();
+        metrics.applyTo(importHistory);
+        return failImport(
+                importHistory,
+                new MyException(
+                        "Import failed (error in object " + (importHistory.getCounter() + 1) + "). " + e.getMessage(),
+                        HttpStatus.BAD_REQUEST));
+    }
+
+    public ImportHistory processStreamingImport(MultipartFile file, ImportMode mode, String clientId) {
+        ImportFormat format = resolveFormat(file);
+        MessageDigest digest = sha256();
+        Path spooledFile = spool(file, digest);
+
+        try {
+            ImportHistory importHistory = importHistoryService.createImportHistory();
+            importHistory.setImportMode(mode);
+            importHistory.setClientId(clientId);
+            Optional<ImportHistory> previousImport =
+                    claimFile(importHistory, HexFormat.of().formatHex(digest.digest()), ImportHistory.RUNNING_STATUS);
+            if (previousImport.isPresent()) {
+                return skipImport(previousImport.get());
+            }
+
+            try (ImportTicket ticket = admit(importHistory);
+                    InputStream inputStream = new MappedFileInputStream(spooledFile)) {
+                return streamImport(inputStream, format, importHistory, ticket);
+            } catch (IOException e) {
+                throw failImport(importHistory, new MyException("Failed to read file", HttpStatus.BAD_REQUEST, e));
+            }
+        } finally {
+            deleteSpooledFile(spooledFile);
+        }
+    }
+
+    public ImportHistoryResponseDTO submitImportJob(MultipartFile file, ImportMode mode, String clientId) {
+        if (mode == ImportMode.ATOMIC) {
+            throw new MyException("ATOMIC mode is not supported for asynchronous import", HttpStatus.BAD_REQUEST);
+        }
+        ImportFormat format = resolveFormat(file);
+
+        MessageDigest digest = sha256();
+        Path spooledFile = spool(file, digest);
+
+        ImportHistory importHistory = importHistoryService.createImportHistory();
+        importHistory.setImportMode(mode);
+        importHistory.setClientId(clientId);
+        importHistory.setFileName(file.getOriginalFilename());
+        importHistory.setContentType(file.getContentType());
+        importHistory.setSpoolFile(spooledFile.toString());
+        Optional<ImportHistory> previousImport;
+        try {
+            previousImport =
+                    claimFile(importHistory, HexFormat.of().formatHex(digest.digest()), ImportHistory.QUEUED_STATUS);
+        } catch (MyException e) {
+            deleteSpooledFile(spooledFile);
+            throw e;
+        }
+        if (previousImport.isPresent()) {
+            deleteSpooledFile(spooledFile);
+            return importHistoryMapper.toResponseDTO(skipImport(previousImport.get()));
+        }
+        ImportHistoryResponseDTO job = importHistoryMapper.toResponseDTO(importHistory);
+
+        startImportJob(format, importHistory);
+        return job;
+    }
+
+    public ImportHistory importFile(Path file, ImportMode mode, String clientId) {
+        try (ImportTicket ticket = importScheduler.admit(clientId, importProperties.getAdmissionTimeout())) {
+            return importFile(file, mode, ticket);
+        }
+    }
+
+    private ImportHistory importFile(Path file, ImportMode mode, ImportTicket ticket) {
+        ImportHistory importHistory = importHistoryService.createImportHistory();
+        importHistory.setImportMode(mode);
+        importHistory.setClientId(ticket.getClientId());
+        importHistory.setFileName(file.getFileName().toString());
+
+        try {
+            ImportFormat format = importFormatResolver.resolve(importHistory.getFileName(), null);
+            Optional<ImportHistory> previousImport =
+                    claimFile(importHistory, fingerprint(file), ImportHistory.RUNNING_STATUS);
+            if (previousImport.isPresent()) {
+                return skipImport(previousImport.get());
+            }
+
+            try (InputStream inputStream = new MappedFileInputStream(file)) {
+                return streamImport(inputStream, format, importHistory, ticket);
+            }
+        } catch (IOException e) {
+            failUnrecordedImport(
+                    importHistory, new MyException("Failed to read file", HttpStatus.INTERNAL_SERVER_ERROR, e));
+        } catch (MyException e) {
+            failUnrecordedImport(importHistory, e);
+        }
+        return importHistory;
+    }
+
+    private void failUnrecordedImport(ImportHistory importHistory, MyException e) {
+        Integer status = importHistory.getStatus();
+        if (status == null || status == ImportHistory.RUNNING_STATUS || status == ImportHistory.QUEUED_STATUS) {
+            failImport(importHistory, e);
+        }
+    }
+
+    public ImportHistoryResponseDTO resumeImport(Long jobId) {
+        ImportHistory importHistory = importHistoryRepository
+                .findById(jobId)
+                .orElseThrow(() -> new MyException("Import not found with id: " + jobId, HttpStatus.NOT_FOUND));
+        Integer status = importHistory.getStatus();
+        if (status == null) {
+            throw new MyException("Import " + jobId + " has not started yet", HttpStatus.CONFLICT);
+        }
+        if (status == ImportHistory.SUCCESS_STATUS || status == ImportHistory.SKIPPED_STATUS) {
+            throw new MyException("Import " + jobId + " is already finished", HttpStatus.CONFLICT);
+        }
+        if (activeImports.contains(jobId) || isOwnedByOtherNode(importHistory)) {
+            throw new MyException("Import " + jobId + " is already running", HttpStatus.CONFLICT);
+        }
+        if (importHistory.getImportMode() == ImportMode.PARALLEL) {
             throw new MyException(
-                    "Import failed (error in object " + (importHistory.getCounter() + 1) + "). " + e.getMessage(),
-                    HttpStatus.BAD_REQUEST);
+                    "Import " + jobId + " cannot be resumed: PARALLEL imports commit chunks out of order,"
+                            + " upload the file again",
+                    HttpStatus.CONFLICT);
         }
+        if (!isResumable(importHistory)) {
+            throw new MyException("Import " + jobId + " cannot be resumed", HttpStatus.CONFLICT);
+        }
+
+        importHistory.setMessage(null);
+        importHistory.setOwnerNode(importProperties.getNodeId());
+        Optional<ImportHistory> previousImport =
+                claimFile(importHistory, importHistory.getFileHash(), ImportHistory.QUEUED_STATUS);
+        if (previousImport.isPresent()) {
+            throw new MyException(
+                    "File was already imported by import "
+                            + previousImport.get().getId(),
+                    HttpStatus.CONFLICT);
+        }
+        ImportHistoryResponseDTO job = importHistoryMapper.toResponseDTO(importHistory);
+        startImportJob(resolveFormat(importHistory), importHistory);
+        return job;
     }
 
-    private List<OrganizationRequestDTO> parseJSON(MultipartFile file) {
-        try (InputStream inputStream = file.getInputStream()) {
-            List<OrganizationRequestDTO> result = objectMapper.readValue(
-                    inputStream,
-                    objectMapper.getTypeFactory().constructCollectionType(List.class, OrganizationRequestDTO.class));
-            return result;
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedImports() {
+        purgeExpiredSpooledFiles();
+        List<ImportHistory> interrupted = importHistoryRepository.findByOwnerNodeAndStatusIn(
+                importProperties.getNodeId(), List.of(ImportHistory.RUNNING_STATUS, ImportHistory.QUEUED_STATUS));
+        for (ImportHistory importHistory : interrupted) {
+            if (!importProperties.isResumeOnStartup() || !isResumable(importHistory)) {
+                importHistory.setMessage("Import was interrupted by application restart");
+                importHistoryService.saveImportHistory(importHistory, ImportHistory.ERROR_STATUS);
+                continue;
+            }
+            importHistoryService.saveImportHistory(importHistory, ImportHistory.QUEUED_STATUS);
+            try {
+                startImportJob(resolveFormat(importHistory), importHistory);
+            } catch (MyException e) {
+                // the failure is already recorded in the import history
+            }
+        }
+    }
+
+    private void purgeExpiredSpooledFiles() {
+        ZonedDateTime expiredBefore = ZonedDateTime.now().minus(importProperties.getSpoolRetention());
+        for (ImportHistory importHistory :
+                importHistoryRepository.findByOwnerNodeAndStatusAndSpoolFileIsNotNullAndCreationDateBefore(
+                        importProperties.getNodeId(), ImportHistory.ERROR_STATUS, expiredBefore)) {
+            releaseSpooledFile(importHistory);
+        }
+    }
+
+    private boolean isOwnedByOtherNode(ImportHistory importHistory) {
+        Integer status = importHistory.getStatus();
+        return (Objects.equals(status, ImportHistory.RUNNING_STATUS)
+                        || Objects.equals(status, ImportHistory.QUEUED_STATUS))
+                && !Objects.equals(importHistory.getOwnerNode(), importProperties.getNodeId());
+    }
+
+    private boolean isResumable(ImportHistory importHistory) {
+        ImportMode mode = importHistory.getImportMode();
+        return (mode == ImportMode.STREAMING || mode == ImportMode.UPSERT)
+                && importHistory.getSpoolFile() != null
+                && Files.isRegularFile(Path.of(importHistory.getSpoolFile()));
+    }
+
+    private ImportFormat resolveFormat(ImportHistory importHistory) {
+        return importFormatResolver.resolve(importHistory.getFileName(), importHistory.getContentType());
+    }
+
+    private void startImportJob(ImportFormat format, ImportHistory importHistory) {
+        activeImports.add(importHistory.getId());
+        try {
+            importScheduler.submit(importHistory.getClientId(), ticket -> runImportJob(format, importHistory, ticket));
+        } catch (MyException e) {
+            activeImports.remove(importHistory.getId());
+            throw failImport(importHistory, e);
+        }
+    }
+
+    private void runImportJob(ImportFormat format, ImportHistory importHistory, ImportTicket ticket) {
+        try (ticket;
+                InputStream inputStream = Files.newInputStream(Path.of(importHistory.getSpoolFile()))) {
+            importHistoryService.saveImportHistory(importHistory, ImportHistory.RUNNING_STATUS);
+            streamImport(inputStream, format, importHistory, ticket);
         } catch (IOException e) {
-            throw new MyException("Failed to parse JSON file", HttpStatus.BAD_REQUEST);
+            failUnrecordedImport(
+                    importHistory, new MyException("Failed to read file", HttpStatus.INTERNAL_SERVER_ERROR, e));
+        } catch (MyException e) {
+            failUnrecordedImport(importHistory, e);
+        } catch (RuntimeException e) {
+            failUnrecordedImport(importHistory, new MyException(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR, e));
+        } finally {
+            if (importHistory.getStatus() == ImportHistory.SUCCESS_STATUS || !isResumable(importHistory)) {
+                releaseSpooledFile(importHistory);
+            }
+            activeImports.remove(importHistory.getId());
+        }
+    }
+
+    private void releaseSpooledFile(ImportHistory importHistory) {
+        deleteSpooledFile(Path.of(importHistory.getSpoolFile()));
+        importHistory.setSpoolFile(null);
+        importHistoryRepository.save(importHistory);
+    }
+
+    private ImportHistory streamImport(
+            InputStream inputStream, ImportFormat format, ImportHistory importHistory, ImportTicket ticket) {
+        ImportMode mode = importHistory.getImportMode();
+        ImportMemoryBudget memoryBudget = newMemoryBudget();
+        ImportContext context = new ImportContext(importHistory, memoryBudget, ticket);
+        ImportMetrics metrics = context.getMetrics();
+        List<OrganizationRequestDTO> chunk = new ArrayList<>(importProperties.getChunkSize());
+
+        metrics.switchTo(ImportStage.PARSE);
+        try (ImportReader reader = importFormatResolver.open(metrics.count(inputStream), format)) {
+            if (mode == ImportMode.PARALLEL) {
+                parallelImportPipeline.run(reader, context);
+            } else {
+                skipCommittedRows(reader, importHistory.getCounter());
+                OrganizationRequestDTO organization;
+                while ((organization = reader.next()) != null) {
+                    chunk.add(organization);
+                    if (chunk.size() >= importProperties.getChunkSize()) {
+                        commitChunk(chunk, context, mode);
+                    }
+                }
+                commitChunk(chunk, context, mode);
+            }
+
+            metrics.finish();
+            metrics.applyTo(importHistory);
+            importHistoryService.saveImportHistory(importHistory, ImportHistory.SUCCESS_STATUS);
+            return importHistory;
+        } catch (IOException e) {
+            throw failImport(
+                    context,
+                    importBatchValidator.rowFailed(
+                            importHistory.getCounter() + chunk.size() + 1, "Failed to parse file", e));
+        } catch (MyException e) {
+            throw failImport(context, e);
+        } catch (RuntimeException e) {
+            throw failImport(
+                    context, importBatchValidator.rowFailed(importHistory.getCounter() + 1, e.getMessage(), e));
+        } finally {
+            memoryBudget.close();
+        }
+    }
+
+    private void skipCommittedRows(ImportReader reader, int committedRows) throws IOException {
+        int skipped = 0;
+        while (skipped < committedRows && reader.next() != null) {
+            skipped++;
+        }
+    }
+
+    private Optional<ImportHistory> claimFile(ImportHistory importHistory, String fileHash, int status) {
+        importHistory.setFileHash(fileHash);
+        long id = importHistory.getId();
+        try {
+            importHistoryService.claimImportHistory(importHistory, status);
+            entityManager.detach(importHistory);
+            return Optional.empty();
+        } catch (DataIntegrityViolationException e) {
+            importHistory.setId(id);
+            importHistory.setClaimedFileHash(null);
+            Optional<ImportHistory> owner = importHistoryRepository.findByClaimedFileHash(fileHash);
+            if (owner.isEmpty()) {
+                importHistoryService.claimImportHistory(importHistory, status);
+                entityManager.detach(importHistory);
+            } else if (!Objects.equals(owner.get().getStatus(), ImportHistory.SUCCESS_STATUS)) {
+                throw new MyException(
+                        "File is already being imported by import "
+                                + owner.get().getId(),
+                        HttpStatus.CONFLICT);
+            }
+            return owner;
+        }
+    }
+
+    private ImportTicket admit(ImportHistory importHistory) {
+        try {
+            return importScheduler.admit(importHistory.getClientId(), importProperties.getAdmissionTimeout());
+        } catch (MyException e) {
+            throw failImport(importHistory, e);
+        }
+    }
+
+    private ImportHistory skipImport(ImportHistory previousImport) {
+        ImportHistory importHistory = importHistoryService.createImportHistory();
+        importHistory.setFileHash(previousImport.getFileHash());
+        importHistory.setDuplicateOfId(previousImport.getId());
+        importHistory.setMessage("File was already imported by import " + previousImport.getId());
+        importHistoryService.saveImportHistory(importHistory, ImportHistory.SKIPPED_STATUS);
+        return importHistory;
+    }
+
+    public StreamingResponseBody validateImport(MultipartFile file) {
+        ImportFormat format = resolveFormat(file);
+
+        return outputStream -> {
+            try (InputStream inputStream = file.getInputStream();
+                    SequenceWriter report =
+                            objectMapper.writer().withRootValueSeparator("\n").writeValues(outputStream);
+                    ImportMemoryBudget memoryBudget = newMemoryBudget()) {
+                validateRows(inputStream, format, memoryBudget, report);
+            }
+        };
+    }
+
+    private void validateRows(
+            InputStream inputStream, ImportFormat format, ImportMemoryBudget memoryBudget, SequenceWriter report)
+            throws IOException {
+        ImportContext context = new ImportContext(null, memoryBudget);
+        List<OrganizationRequestDTO> chunk = new ArrayList<>(importProperties.getChunkSize());
+        int offset = 0;
+        ImportRowErrorDTO parseError = null;
+
+        try (ImportReader reader = importFormatResolver.open(inputStream, format)) {
+            OrganizationRequestDTO organization;
+            while ((organization = reader.next()) != null) {
+                chunk.add(organization);
+                if (chunk.size() >= importProperties.getChunkSize()) {
+                    offset = validateChunk(chunk, offset, context, report);
+                }
+            }
+        } catch (IOException e) {
+            parseError = new ImportRowErrorDTO(offset + chunk.size() + 1, "Failed to parse file");
+        } catch (MyException e) {
+            parseError = new ImportRowErrorDTO(offset + chunk.size() + 1, e.getMessage());
+        }
+
+        validateChunk(chunk, offset, context, report);
+        if (parseError != null) {
+            report.write(parseError);
+        }
+    }
+
+    private int validateChunk(
+            List<OrganizationRequestDTO> chunk, int offset, ImportContext context, SequenceWriter report)
+            throws IOException {
+        List<ImportRowErrorDTO> errors = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            List<Organization> organizations = importBatchValidator.buildChunk(chunk, offset, context, errors);
+            importBatchValidator.validateChunk(organizations, offset, context, errors);
+        });
+        importBatchValidator.releaseErrors(context, errors);
+        errors.sort(Comparator.comparing(ImportRowErrorDTO::getRow));
+        report.writeAll(errors);
+        report.flush();
+
+        int nextOffset = offset + chunk.size();
+        chunk.clear();
+        return nextOffset;
+    }
+
+    private MyException failImport(ImportContext context, MyException e) {
+        context.getMetrics().finish();
+        context.getMetrics().applyTo(context.getImportHistory());
+        return failImport(context.getImportHistory(), e);
+    }
+
+    private MyException failImport(ImportHistory importHistory, MyException e) {
+        importHistory.setMessage(StringUtils.truncate(e.getMessage(), MAX_MESSAGE_LENGTH));
+        importHistoryService.saveImportHistory(importHistory, ImportHistory.ERROR_STATUS);
+        return e;
+    }
+
+    private void commitChunk(List<OrganizationRequestDTO> chunk, ImportContext context, ImportMode mode) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        ImportHistory importHistory = context.getImportHistory();
+        int offset = importHistory.getCounter();
+        ImportMetrics metrics = context.getMetrics();
+        context.getTicket()
+                .runTurn(() -> transactionTemplate.executeWithoutResult(status -> {
+                    saveChunk(chunk, offset, context, mode);
+                    entityManager.flush();
+                    entityManager.clear();
+                    importHistoryRepository.updateCounter(importHistory.getId(), offset + chunk.size());
+                    changeEventBus.publishImported(ChangeEntityType.ORGANIZATION, importHistory.getId());
+                }));
+        metrics.chunkWritten(chunk.size());
+
+        metrics.switchTo(ImportStage.CHECKPOINT);
+        importHistory.setCounter(offset + chunk.size());
+        metrics.applyTo(importHistory);
+        importHistoryService.saveImportHistory(importHistory, ImportHistory.RUNNING_STATUS);
+        chunk.clear();
+        metrics.switchTo(ImportStage.PARSE);
+    }
+
+    private void saveChunk(List<OrganizationRequestDTO> chunk, int offset, ImportContext context, ImportMode mode) {
+        List<ImportRowErrorDTO> errors = new ArrayList<>();
+        context.getMetrics().switchTo(ImportStage.RESOLVE);
+        List<Organization> organizations = importBatchValidator.buildChunk(chunk, offset, context, errors);
+        context.getMetrics().switchTo(ImportStage.VALIDATE);
+        if (mode == ImportMode.UPSERT) {
+            importBatchValidator.validateUpsertChunk(organizations, offset, context, errors);
+        } else {
+            importBatchValidator.validateChunk(organizations, offset, context, errors);
+        }
+        if (!errors.isEmpty()) {
+            throw importBatchValidator.chunkFailed(context, errors);
+        }
+        context.getMetrics().switchTo(ImportStage.INSERT);
+        if (mode == ImportMode.UPSERT) {
+            organizationUpsertWriter.upsert(context.getImportHistory().getId(), organizations, offset);
+        } else {
+            organizationService.saveImportedOrganizations(organizations);
         }
     }
 
-    private boolean isJsonFile(MultipartFile file) {
-        String contentType = file.getContentType();
-        String filename = file.getOriginalFilename();
+    private ImportFormat resolveFormat(MultipartFile file) {
+        if (file.isEmpty()) {
+            throw new MyException("File cant be empty.", HttpStatus.BAD_REQUEST);
+        }
 
-        return "application/json".equals(contentType)
-                || (filename != null && filename.toLowerCase().endsWith(".json"));
+        return importFormatResolver.resolve(file.getOriginalFilename(), file.getContentType());
+    }
+
+    private Path spool(MultipartFile file, MessageDigest digest) {
+        try (InputStream inputStream = new DigestInputStream(file.getInputStream(), digest)) {
+            Path spoolDirectory = Files.createDirectories(Path.of(importProperties.getSpoolDirectory()));
+            Path spooledFile = Files.createTempFile(spoolDirectory, "import-", ".upload");
+            Files.copy(inputStream, spooledFile, StandardCopyOption.REPLACE_EXISTING);
+            return spooledFile;
+        } catch (IOException e) {
+            throw new MyException("Failed to store file", HttpStatus.INTERNAL_SERVER_ERROR, e);
+        }
+    }
+
+    private String fingerprint(Path file) {
+        MessageDigest digest = sha256();
+        try (InputStream inputStream = new DigestInputStream(new MappedFileInputStream(file), digest)) {
+            inputStream.transferTo(OutputStream.nullOutputStream());
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException e) {
+            throw new MyException("Failed to read file", HttpStatus.INTERNAL_SERVER_ERROR, e);
+        }
+    }
+
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private ImportMemoryBudget newMemoryBudget() {
+        return new ImportMemoryBudget(
+                importProperties.getMemoryBudget().toBytes(), Path.of(importProperties.getSpillDirectory()));
+    }
+
+    private void deleteSpooledFile(Path spooledFile) {
+        try {
+            Files.deleteIfExists(spooledFile);
+        } catch (IOException e) {
+            spooledFile.toFile().deleteOnExit();
+        }
+    }
+
+    private List<OrganizationRequestDTO> readAll(
+            MultipartFile file, ImportFormat format, MessageDigest digest, ImportMetrics metrics) {
+        try (InputStream inputStream = new DigestInputStream(metrics.count(file.getInputStream()), digest);
+                ImportReader reader = importFormatResolver.open(inputStream, format)) {
+            List<OrganizationRequestDTO> result = new ArrayList<>();
+            OrganizationRequestDTO organization;
+            while (result.size() < MAX_SIZE && (organization = reader.next()) != null) {
+                result.add(organization);
+            }
+            if (result.size() < MAX_SIZE) {
+                inputStream.transferTo(OutputStream.nullOutputStream());
+            }
+            return result;
+        } catch (IOException e) {
+            throw new MyException("Failed to parse file", HttpStatus.BAD_REQUEST);
+        }
     }
 }
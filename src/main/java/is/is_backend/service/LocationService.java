@@ -1,9 +1,13 @@
 package is.is_backend.service;
 
 import is.is_backend.dto.locationDto.LocationPageRequestDTO;
+import is.is_backend.event.ChangeEventBus;
 import is.is_backend.exception.MyException;
+import is.is_backend.mapper.LocationMapper;
 import is.is_backend.models.Address;
 import is.is_backend.models.Location;
+import is.is_backend.models.enums.ChangeEntityType;
+import is.is_backend.models.enums.ChangeOperation;
 import is.is_backend.repository.AddressRepository;
 import is.is_backend.repository.LocationRepository;
 import is.is_backend.specification.LocationSpecification;
@@ -15,6 +19,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @AllArgsConstructor
@@ -22,14 +27,20 @@ public class LocationService {
 
     private final LocationRepository locationRepository;
     private final AddressRepository addressRepository;
-    private final NotificationService notificationService;
+    private final ChangeEventBus changeEventBus;
 
+    @Transactional
     public Location createLocation(Location location) {
         Location savedLocation = locationRepository.save(location);
-        notificationService.notifyAllSubscribers();
+        changeEventBus.publish(
+                ChangeEntityType.LOCATION,
+                ChangeOperation.CREATED,
+                savedLocation.getId(),
+                LocationMapper.toResponseDTO(savedLocation));
         return savedLocation;
     }
 
+    @Transactional
     public Location updateLocation(Long id, Location location) {
         Location updatedLocation = locationRepository.findById(id).orElse(null);
         if (updatedLocation == null) {
@@ -40,10 +51,12 @@ public class LocationService {
         updatedLocation.setZ(location.getZ());
         updatedLocation.setName(location.getName());
         locationRepository.save(updatedLocation);
-        notificationService.notifyAllSubscribers();
+        changeEventBus.publish(
+                ChangeEntityType.LOCATION, ChangeOperation.UPDATED, id, LocationMapper.toResponseDTO(updatedLocation));
         return updatedLocation;
     }
 
+    @Transactional
     public Location deleteLocation(Long id) {
         Location location = locationRepository.findById(id).orElse(null);
         if (location == null) {
@@ -51,7 +64,8 @@ public class LocationService {
         }
         checkLocationUsage(location);
         locationRepository.delete(location);
-        notificationService.notifyAllSubscribers();
+        changeEventBus.publish(
+                ChangeEntityType.LOCATION, ChangeOperation.DELETED, id, LocationMapper.toResponseDTO(location));
         return location;
     }
 
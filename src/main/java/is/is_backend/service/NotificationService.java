@@ -1,16 +1,120 @@
 package is.is_backend.service;
 
-import lombok.AllArgsConstructor;
+import is.is_backend.config.NotificationProperties;
+import is.is_backend.dto.changeEventDto.ChangeEventDTO;
+import is.is_backend.dto.importHistoryDto.ImportHistoryResponseDTO;
+import is.is_backend.event.ChangeEventListener;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.stereotype.Service;
 
 @Service
-@AllArgsConstructor
-public class NotificationService {
+public class NotificationService implements ChangeEventListener {
+
+    public static final String CHANGES_HEADER = "changes";
 
     private final SimpMessagingTemplate messagingTemplate;
+    private final ThreadPoolTaskScheduler notificationTaskScheduler;
+    private final long debounceWindowNanos;
+    private final long maxLatencyNanos;
+    private final int maxBatchSize;
+    private List<ChangeEventDTO> pendingEvents = new ArrayList<>();
+    private long firstChangeAt;
+    private long lastChangeAt;
+
+    public NotificationService(
+            SimpMessagingTemplate messagingTemplate,
+            ThreadPoolTaskScheduler notificationTaskScheduler,
+            NotificationProperties notificationProperties) {
+        this.messagingTemplate = messagingTemplate;
+        this.notificationTaskScheduler = notificationTaskScheduler;
+        this.debounceWindowNanos = notificationProperties.getDebounceWindow().toNanos();
+        this.maxLatencyNanos = notificationProperties.getMaxLatency().toNanos();
+        this.maxBatchSize = notificationProperties.getMaxBatchSize();
+    }
+
+    @Override
+    public void onChanges(List<ChangeEventDTO> events) {
+        if (debounceWindowNanos <= 0) {
+            sendChanges(events);
+            return;
+        }
+
+        List<ChangeEventDTO> batch = null;
+        synchronized (this) {
+            long now = System.nanoTime();
+            lastChangeAt = now;
+            if (pendingEvents.isEmpty()) {
+                firstChangeAt = now;
+                scheduleFlush(now + debounceWindowNanos);
+            }
+            pendingEvents.addAll(events);
+            if (pendingEvents.size() >= maxBatchSize) {
+                batch = takePendingEvents();
+            }
+        }
+        if (batch != null) {
+            sendChanges(batch);
+        }
+    }
+
+    public void notifyImportProgress(ImportHistoryResponseDTO importHistory) {
+        messagingTemplate.convertAndSend("/topic/import/" + importHistory.getId(), importHistory);
+    }
+
+    private void flush() {
+        List<ChangeEventDTO> batch;
+        synchronized (this) {
+            if (pendingEvents.isEmpty()) {
+                return;
+            }
+            long due = Math.min(lastChangeAt + debounceWindowNanos, firstChangeAt + maxLatencyNanos);
+            if (System.nanoTime() < due) {
+                scheduleFlush(due);
+                return;
+            }
+            batch = takePendingEvents();
+        }
+        sendChanges(batch);
+    }
+
+    private List<ChangeEventDTO> takePendingEvents() {
+        List<ChangeEventDTO> batch = pendingEvents;
+        pendingEvents = new ArrayList<>();
+        return batch;
+    }
+
+    private void scheduleFlush(long due) {
+        try {
+            notificationTaskScheduler.schedule(this::flush, Instant.now().plusNanos(due - System.nanoTime()));
+        } catch (TaskRejectedException e) {
+            sendChanges(takePendingEvents());
+        }
+    }
 
-    public void notifyAllSubscribers() {
-        messagingTemplate.convertAndSend("/topic/all", "Some table (created/updated/deleted)");
+    private void sendChanges(List<ChangeEventDTO> events) {
+        messagingTemplate.convertAndSend("/topic/changes", events);
+        Map<String, List<ChangeEventDTO>> eventsByDestination = new LinkedHashMap<>();
+        for (ChangeEventDTO event : events) {
+            String entityDestination = "/topic/" + event.getEntityType().name().toLowerCase(Locale.ROOT);
+            eventsByDestination
+                    .computeIfAbsent(entityDestination, destination -> new ArrayList<>())
+                    .add(event);
+            if (event.getId() != null) {
+                eventsByDestination
+                        .computeIfAbsent(entityDestination + "/" + event.getId(), destination -> new ArrayList<>())
+                        .add(event);
+            }
+        }
+        eventsByDestination.forEach(messagingTemplate::convertAndSend);
+        messagingTemplate.convertAndSend(
+                "/topic/all", "Some table (created/updated/deleted)", Map.of(CHANGES_HEADER, events.size()));
     }
 }
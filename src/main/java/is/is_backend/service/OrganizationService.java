@@ -4,12 +4,17 @@ import is.is_backend.builder.OrganizationBuilder;
 import is.is_backend.dto.organizationDto.OrganizationPageRequestDTO;
 import is.is_backend.dto.organizationDto.OrganizationRequestDTO;
 import is.is_backend.dto.organizationDto.OrganizationResponseDTO;
+import is.is_backend.event.ChangeEventBus;
 import is.is_backend.exception.MyException;
+import is.is_backend.importer.ImportIdentityMap;
 import is.is_backend.mapper.OrganizationMapper;
 import is.is_backend.models.Organization;
+import is.is_backend.models.enums.ChangeEntityType;
+import is.is_backend.models.enums.ChangeOperation;
 import is.is_backend.models.enums.OrganizationType;
 import is.is_backend.repository.OrganizationRepository;
 import is.is_backend.specification.OrganizationSpecification;
+import java.util.List;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -17,6 +22,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @AllArgsConstructor
@@ -24,16 +30,24 @@ public class OrganizationService {
 
     private final OrganizationRepository organizationRepository;
     private final OrganizationBuilder organizationBuilder;
-    private final NotificationService notificationService;
+    private final ChangeEventBus changeEventBus;
 
+    @Transactional
     public OrganizationResponseDTO createOrganization(OrganizationRequestDTO organizationRequestDTO) {
         Organization organization = organizationBuilder.buildFromRequest(organizationRequestDTO);
         validateConstraints(organization, null);
         Organization savedOrganization = organizationRepository.save(organization);
-        notificationService.notifyAllSubscribers();
-        return OrganizationMapper.toResponseDTO(savedOrganization);
+        OrganizationResponseDTO response = OrganizationMapper.toResponseDTO(savedOrganization);
+        changeEventBus.publish(ChangeEntityType.ORGANIZATION, ChangeOperation.CREATED, response.getId(), response);
+        return response;
     }
 
+    public List<Organization> saveImportedOrganizations(List<Organization> organizations) {
+        ImportIdentityMap.canonicalize(organizations);
+        return organizationRepository.saveAll(organizations);
+    }
+
+    @Transactional
     public OrganizationResponseDTO updateOrganization(Long id, OrganizationRequestDTO organizationRequestDTO) {
         Organization updatedOrganization = organizationRepository
                 .findById(id)
@@ -50,17 +64,20 @@ public class OrganizationService {
         updatedOrganization.setType(organization.getType());
         updatedOrganization.setPostalAddress(organization.getPostalAddress());
         organizationRepository.save(updatedOrganization);
-        notificationService.notifyAllSubscribers();
-        return OrganizationMapper.toResponseDTO(updatedOrganization);
+        OrganizationResponseDTO response = OrganizationMapper.toResponseDTO(updatedOrganization);
+        changeEventBus.publish(ChangeEntityType.ORGANIZATION, ChangeOperation.UPDATED, id, response);
+        return response;
     }
 
+    @Transactional
     public OrganizationResponseDTO deleteOrganization(Long id) {
         Organization organization = organizationRepository
                 .findById(id)
                 .orElseThrow(() -> new MyException("Organization not found with id: " + id, HttpStatus.NOT_FOUND));
         organizationRepository.delete(organization);
-        notificationService.notifyAllSubscribers();
-        return OrganizationMapper.toResponseDTO(organization);
+        OrganizationResponseDTO response = OrganizationMapper.toResponseDTO(organization);
+        changeEventBus.publish(ChangeEntityType.ORGANIZATION, ChangeOperation.DELETED, id, response);
+        return response;
     }
 
     public Page<Organization> getAllOrganizations(OrganizationPageRequestDTO pageRequest) {
@@ -118,7 +135,7 @@ public class OrganizationService {
         }
     }
 
-    private void validateAnnualTurnover(Double annualTurnover, Integer employeesCount) {
+    public void validateAnnualTurnover(Double annualTurnover, Integer employeesCount) {
         if (employeesCount == null) return;
 
         Double minAnnualTurnover = (double) ((employeesCount + 1) * 12 * 19500);
@@ -5,15 +5,19 @@ import is.is_backend.dto.organizationDto.OrganizationRequestDTO;
 import is.is_backend.dto.organizationDto.OrganizationResponseDTO;
 import is.is_backend.dto.specialOperationDto.MergeOrganizationsRequestDTO;
 import is.is_backend.dto.specialOperationDto.OrganizationCountByFullNameResponseDTO;
+import is.is_backend.event.ChangeEventBus;
 import is.is_backend.exception.MyException;
 import is.is_backend.mapper.OrganizationMapper;
 import is.is_backend.models.Organization;
+import is.is_backend.models.enums.ChangeEntityType;
+import is.is_backend.models.enums.ChangeOperation;
 import is.is_backend.repository.OrganizationRepository;
 import java.util.*;
 import java.util.stream.Collectors;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @AllArgsConstructor
@@ -21,7 +25,7 @@ public class SpecialOperationService {
 
     private final OrganizationRepository organizationRepository;
     private final OrganizationBuilder organizationBuilder;
-    private final NotificationService notificationService;
+    private final ChangeEventBus changeEventBus;
 
     public OrganizationResponseDTO getOrganizationWithMaxOfficialAddress() {
         List<Organization> organizationList = organizationRepository.findAll();
@@ -41,6 +45,7 @@ public class SpecialOperationService {
         return filterOrganizationsByFullNameSubstring(organizations, fullName);
     }
 
+    @Transactional
     public OrganizationResponseDTO updateCountOfEmployee(Long id) {
         Organization updatedOrganization = organizationRepository
                 .findById(id)
@@ -48,10 +53,12 @@ public class SpecialOperationService {
         updatedOrganization.setEmployeesCount(
                 updatedOrganization.getEmployeesCount() == null ? 0 : updatedOrganization.getEmployeesCount() + 1);
         organizationRepository.save(updatedOrganization);
-        notificationService.notifyAllSubscribers();
-        return OrganizationMapper.toResponseDTO(updatedOrganization);
+        OrganizationResponseDTO response = OrganizationMapper.toResponseDTO(updatedOrganization);
+        changeEventBus.publish(ChangeEntityType.ORGANIZATION, ChangeOperation.UPDATED, id, response);
+        return response;
     }
 
+    @Transactional
     public OrganizationResponseDTO joinOrganization(MergeOrganizationsRequestDTO joinOrganizationRequestDTO) {
         validateJoinRequest(joinOrganizationRequestDTO);
         Organization firstOrganization = findOrganizationById(joinOrganizationRequestDTO.getFirstOrganizationId());
@@ -60,8 +67,9 @@ public class SpecialOperationService {
         Organization mergedOrganization =
                 organizationBuilder.buildFromRequest(joinOrganizationRequestDTO.getOrganization());
         Organization savedOrganization = organizationRepository.save(mergedOrganization);
-        notificationService.notifyAllSubscribers();
-        return OrganizationMapper.toResponseDTO(savedOrganization);
+        OrganizationResponseDTO response = OrganizationMapper.toResponseDTO(savedOrganization);
+        changeEventBus.publish(ChangeEntityType.ORGANIZATION, ChangeOperation.CREATED, response.getId(), response);
+        return response;
     }
 
     private void applyMergeCalculations(
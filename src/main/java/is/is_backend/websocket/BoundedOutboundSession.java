@@ -0,0 +1,180 @@
+package is.is_backend.websocket;
+
+import is.is_backend.models.enums.OutboundOverflowPolicy;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+public class BoundedOutboundSession extends WebSocketSessionDecorator {
+
+    private static final byte[] MESSAGE_COMMAND = "MESSAGE\n".getBytes(StandardCharsets.US_ASCII);
+    private static final String BLOCKING_SEND_TIMEOUT_PROPERTY = "org.apache.tomcat.websocket.BLOCKING_SEND_TIMEOUT";
+    private static final int MAX_FRAMES_PER_DRAIN = 16;
+
+    private final WebSocketSessionMonitor monitor;
+    private final Executor sender;
+    private final int queueLimit;
+    private final OutboundOverflowPolicy overflowPolicy;
+    private final Deque<WebSocketMessage<?>> queue = new ArrayDeque<>();
+    private int queuedMessageFrames;
+    private boolean draining;
+    private boolean closed;
+    private volatile long sendStartedAt;
+    private volatile long lastActivityAt = System.nanoTime();
+
+    public BoundedOutboundSession(
+            WebSocketSession delegate,
+            WebSocketSessionMonitor monitor,
+            Executor sender,
+            int queueLimit,
+            OutboundOverflowPolicy overflowPolicy,
+            Duration blockingSendTimeout) {
+        super(delegate);
+        this.monitor = monitor;
+        this.sender = sender;
+        this.queueLimit = queueLimit;
+        this.overflowPolicy = overflowPolicy;
+        limitBlockingSends(delegate, blockingSendTimeout);
+    }
+
+    private static void limitBlockingSends(WebSocketSession session, Duration timeout) {
+        if (session instanceof NativeWebSocketSession nativeSession) {
+            jakarta.websocket.Session standardSession = nativeSession.getNativeSession(jakarta.websocket.Session.class);
+            if (standardSession != null) {
+                standardSession.getUserProperties().put(BLOCKING_SEND_TIMEOUT_PROPERTY, timeout.toMillis());
+            }
+        }
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) {
+        boolean messageFrame = isMessageFrame(message);
+        synchronized (queue) {
+            if (closed) {
+                monitor.messagesDropped(1);
+                return;
+            }
+            if (messageFrame && queuedMessageFrames >= queueLimit) {
+                if (overflowPolicy == OutboundOverflowPolicy.TERMINATE) {
+                    monitor.slowSessionTerminated();
+                    closeQuietly(CloseStatus.SESSION_NOT_RELIABLE.withReason("Outbound queue limit exceeded"));
+                    monitor.messagesDropped(1);
+                    return;
+                }
+                dropOldestMessageFrame();
+            }
+            queue.addLast(message);
+            if (messageFrame) {
+                queuedMessageFrames++;
+            }
+            if (draining) {
+                return;
+            }
+            draining = true;
+        }
+        sender.execute(this::drain);
+    }
+
+    public int getQueueDepth() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    public long getSendStartedAt() {
+        return sendStartedAt;
+    }
+
+    public long getLastActivityAt() {
+        return lastActivityAt;
+    }
+
+    public void touch() {
+        lastActivityAt = System.nanoTime();
+    }
+
+    public void closeQuietly(CloseStatus status) {
+        discardQueue();
+        try {
+            getDelegate().close(status);
+        } catch (IOException e) {
+            // the connection is already broken
+        }
+    }
+
+    public void discardQueue() {
+        synchronized (queue) {
+            closed = true;
+            monitor.messagesDropped(queue.size());
+            queue.clear();
+            queuedMessageFrames = 0;
+        }
+    }
+
+    private void drain() {
+        for (int sent = 0; sent < MAX_FRAMES_PER_DRAIN; sent++) {
+            WebSocketMessage<?> message;
+            synchronized (queue) {
+                message = queue.pollFirst();
+                if (message == null) {
+                    draining = false;
+                    return;
+                }
+                if (isMessageFrame(message)) {
+                    queuedMessageFrames--;
+                }
+            }
+            sendStartedAt = System.nanoTime();
+            try {
+                getDelegate().sendMessage(message);
+                touch();
+            } catch (IOException | RuntimeException e) {
+                closeQuietly(CloseStatus.SESSION_NOT_RELIABLE);
+            } finally {
+                sendStartedAt = 0;
+            }
+        }
+        // give the sender thread to other sessions, the rest of the queue is drained by a later task
+        sender.execute(this::drain);
+    }
+
+    private void dropOldestMessageFrame() {
+        Iterator<WebSocketMessage<?>> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            if (isMessageFrame(iterator.next())) {
+                iterator.remove();
+                queuedMessageFrames--;
+                monitor.messagesDropped(1);
+                return;
+            }
+        }
+    }
+
+    private static boolean isMessageFrame(WebSocketMessage<?> message) {
+        byte[] payload;
+        if (message instanceof TextMessage textMessage) {
+            payload = textMessage.asBytes();
+        } else if (message instanceof BinaryMessage binaryMessage) {
+            ByteBuffer buffer = binaryMessage.getPayload();
+            payload = new byte[Math.min(buffer.remaining(), MESSAGE_COMMAND.length)];
+            buffer.duplicate().get(payload);
+        } else {
+            return false;
+        }
+        return payload.length >= MESSAGE_COMMAND.length
+                && Arrays.equals(payload, 0, MESSAGE_COMMAND.length, MESSAGE_COMMAND, 0, MESSAGE_COMMAND.length);
+    }
+}
@@ -0,0 +1,113 @@
+package is.is_backend.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import is.is_backend.config.WebSocketProperties;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+@Component
+public class PayloadFormatNegotiator implements ChannelInterceptor, HandshakeInterceptor {
+
+    public static final String PAYLOAD_FORMAT_HEADER = "payload-format";
+    public static final String CBOR_FORMAT = "cbor";
+
+    private static final String NATIVE_SESSION_ATTRIBUTE = "nativeWebSocket";
+
+    private final WebSocketProperties webSocketProperties;
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final CBORMapper cborMapper = new CBORMapper();
+    private final Set<String> cborSessions = ConcurrentHashMap.newKeySet();
+    private final AtomicReference<EncodedPayload> lastEncoded = new AtomicReference<>();
+
+    public PayloadFormatNegotiator(WebSocketProperties webSocketProperties) {
+        this.webSocketProperties = webSocketProperties;
+    }
+
+    @Override
+    public boolean beforeHandshake(
+            ServerHttpRequest request,
+            ServerHttpResponse response,
+            WebSocketHandler wsHandler,
+            Map<String, Object> attributes) {
+        attributes.put(NATIVE_SESSION_ATTRIBUTE, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(
+            ServerHttpRequest request, ServerHttpResponse response, WebSocketHandler wsHandler, Exception exception) {}
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageType messageType = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+        if (messageType == SimpMessageType.CONNECT_ACK) {
+            Object connectMessage = message.getHeaders().get(SimpMessageHeaderAccessor.CONNECT_MESSAGE_HEADER);
+            if (connectMessage instanceof Message<?> connect) {
+                negotiate(connect);
+            }
+            return message;
+        }
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (messageType != SimpMessageType.MESSAGE || sessionId == null || !cborSessions.contains(sessionId)) {
+            return message;
+        }
+        return encodeCbor(message);
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        cborSessions.remove(event.getSessionId());
+    }
+
+    private void negotiate(Message<?> message) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        boolean nativeSession = attributes != null && attributes.containsKey(NATIVE_SESSION_ATTRIBUTE);
+        if (webSocketProperties.isCborPayloads()
+                && nativeSession
+                && CBOR_FORMAT.equalsIgnoreCase(accessor.getFirstNativeHeader(PAYLOAD_FORMAT_HEADER))) {
+            cborSessions.add(accessor.getSessionId());
+        }
+    }
+
+    private Message<?> encodeCbor(Message<?> message) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        if (!(message.getPayload() instanceof byte[] json)
+                || accessor.getContentType() == null
+                || !MimeTypeUtils.APPLICATION_JSON.isCompatibleWith(accessor.getContentType())) {
+            return message;
+        }
+        EncodedPayload encoded = lastEncoded.get();
+        if (encoded == null || encoded.json() != json) {
+            try {
+                encoded = new EncodedPayload(json, cborMapper.writeValueAsBytes(jsonMapper.readTree(json)));
+            } catch (IOException e) {
+                return message;
+            }
+            lastEncoded.set(encoded);
+        }
+        accessor.setContentType(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+        accessor.setNativeHeader(PAYLOAD_FORMAT_HEADER, CBOR_FORMAT);
+        return MessageBuilder.createMessage(encoded.cbor(), accessor.getMessageHeaders());
+    }
+
+    private record EncodedPayload(byte[] json, byte[] cbor) {}
+}
@@ -0,0 +1,128 @@
+package is.is_backend.websocket;
+
+import is.is_backend.config.WebSocketProperties;
+import is.is_backend.dto.websocketDto.WebSocketMetricsDTO;
+import is.is_backend.event.ChangeEventBus;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+
+@Component
+public class WebSocketSessionMonitor {
+
+    private static final Duration SWEEP_INTERVAL = Duration.ofSeconds(1);
+
+    private final WebSocketProperties webSocketProperties;
+    private final ThreadPoolTaskExecutor websocketSendExecutor;
+    private final ThreadPoolTaskScheduler notificationTaskScheduler;
+    private final ChangeEventBus changeEventBus;
+    private final Map<String, BoundedOutboundSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong droppedMessages = new AtomicLong();
+    private final AtomicLong terminatedSlowSessions = new AtomicLong();
+    private final AtomicLong evictedIdleSessions = new AtomicLong();
+
+    public WebSocketSessionMonitor(
+            WebSocketProperties webSocketProperties,
+            ThreadPoolTaskExecutor websocketSendExecutor,
+            ThreadPoolTaskScheduler notificationTaskScheduler,
+            ChangeEventBus changeEventBus) {
+        this.webSocketProperties = webSocketProperties;
+        this.websocketSendExecutor = websocketSendExecutor;
+        this.notificationTaskScheduler = notificationTaskScheduler;
+        this.changeEventBus = changeEventBus;
+    }
+
+    @PostConstruct
+    public void start() {
+        notificationTaskScheduler.scheduleWithFixedDelay(this::sweep, SWEEP_INTERVAL);
+    }
+
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                BoundedOutboundSession boundedSession = new BoundedOutboundSession(
+                        session,
+                        WebSocketSessionMonitor.this,
+                        websocketSendExecutor,
+                        webSocketProperties.getOutboundQueueLimit(),
+                        webSocketProperties.getOverflowPolicy(),
+                        webSocketProperties.getBlockingSendTimeout());
+                sessions.put(session.getId(), boundedSession);
+                super.afterConnectionEstablished(boundedSession);
+            }
+
+            @Override
+            public void handleMessage(WebSocketSession session, WebSocketMessage<?> message) throws Exception {
+                BoundedOutboundSession boundedSession = sessions.get(session.getId());
+                if (boundedSession != null) {
+                    boundedSession.touch();
+                }
+                super.handleMessage(session, message);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                BoundedOutboundSession boundedSession = sessions.remove(session.getId());
+                if (boundedSession != null) {
+                    boundedSession.discardQueue();
+                }
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    public WebSocketMetricsDTO getMetrics() {
+        int queuedMessages = 0;
+        int maxQueueDepth = 0;
+        for (BoundedOutboundSession session : sessions.values()) {
+            int depth = session.getQueueDepth();
+            queuedMessages += depth;
+            maxQueueDepth = Math.max(maxQueueDepth, depth);
+        }
+        return WebSocketMetricsDTO.builder()
+                .activeSessions(sessions.size())
+                .queuedMessages(queuedMessages)
+                .maxQueueDepth(maxQueueDepth)
+                .droppedMessages(droppedMessages.get())
+                .terminatedSlowSessions(terminatedSlowSessions.get())
+                .evictedIdleSessions(evictedIdleSessions.get())
+                .droppedChangeEvents(changeEventBus.getDroppedEvents())
+                .failedChangeDeliveries(changeEventBus.getFailedDeliveries())
+                .build();
+    }
+
+    void messagesDropped(int count) {
+        droppedMessages.addAndGet(count);
+    }
+
+    void slowSessionTerminated() {
+        terminatedSlowSessions.incrementAndGet();
+    }
+
+    private void sweep() {
+        long now = System.nanoTime();
+        long sendTimeLimit = webSocketProperties.getSendTimeLimit().toNanos();
+        long idleTimeout = webSocketProperties.getIdleTimeout().toNanos();
+        for (BoundedOutboundSession session : sessions.values()) {
+            long sendStartedAt = session.getSendStartedAt();
+            if (sendStartedAt != 0 && now - sendStartedAt > sendTimeLimit) {
+                slowSessionTerminated();
+                session.closeQuietly(CloseStatus.SESSION_NOT_RELIABLE.withReason("Send time limit exceeded"));
+            } else if (now - session.getLastActivityAt() > idleTimeout) {
+                evictedIdleSessions.incrementAndGet();
+                session.closeQuietly(CloseStatus.GOING_AWAY.withReason("Idle timeout"));
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package is.is_backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+
+import is.is_backend.config.ClusterProperties;
+import is.is_backend.config.NotificationProperties;
+import is.is_backend.dto.changeEventDto.ChangeEventDTO;
+import is.is_backend.event.ChangeEventBus;
+import is.is_backend.event.ChangeEventListener;
+import is.is_backend.event.ChangeOutbox;
+import is.is_backend.event.InJvmClusterEventBus;
+import is.is_backend.models.enums.ChangeEntityType;
+import is.is_backend.models.enums.ChangeOperation;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+public class ChangeEventBusTest {
+
+    private InJvmClusterEventBus clusterEventBus;
+    private ChangeEventBus changeEventBus;
+    private List<ChangeEventDTO> delivered;
+
+    @BeforeEach
+    public void setUp() {
+        delivered = new CopyOnWriteArrayList<>();
+        ChangeEventListener failingListener = events -> {
+            throw new IllegalStateException("Listener failed");
+        };
+        clusterEventBus = new InJvmClusterEventBus(mock(ChangeOutbox.class), new ClusterProperties());
+        changeEventBus = new ChangeEventBus(
+                List.of(failingListener, delivered::addAll),
+                mock(ChangeOutbox.class),
+                clusterEventBus,
+                mock(TransactionTemplate.class),
+                new NotificationProperties());
+        changeEventBus.start();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        changeEventBus.stop();
+        clusterEventBus.stop();
+    }
+
+    @Test
+    @DisplayName("Test failing listener is counted and does not stop delivery to the others")
+    public void testFailingListenerIsCounted() {
+        clusterEventBus.publish(
+                List.of(new ChangeEventDTO(ChangeEntityType.LOCATION, ChangeOperation.UPDATED, 1L, null, null, null)));
+
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertThat(delivered)
+                .as("Other listeners should still receive the batch")
+                .hasSize(1));
+        assertThat(changeEventBus.getFailedDeliveries()).isEqualTo(1);
+        assertThat(changeEventBus.getDroppedEvents()).isZero();
+    }
+
+    @Test
+    @DisplayName("Test in-JVM bus delivers batches in sequence order and skips a gap that is never filled")
+    public void testInJvmBusOrdersBySequence() {
+        clusterEventBus.publish(List.of(event(2L), event(3L)));
+        clusterEventBus.publish(List.of(event(1L)));
+        clusterEventBus.publish(List.of(event(5L)));
+
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertThat(delivered)
+                .extracting(ChangeEventDTO::getSequence)
+                .as("Batch committed first should be delivered first, the missing sequence 4 is skipped")
+                .containsExactly(1L, 2L, 3L, 5L));
+    }
+
+    private ChangeEventDTO event(long sequence) {
+        return new ChangeEventDTO(ChangeEntityType.LOCATION, ChangeOperation.UPDATED, 1L, null, sequence, null);
+    }
+}
@@ -0,0 +1,200 @@
+package is.is_backend;
+
+import static is.is_backend.utils.FileReader.readJsonFile;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import is.is_backend.event.ChangeEventBus;
+import is.is_backend.event.ChangeOutbox;
+import is.is_backend.models.enums.ChangeEntityType;
+import is.is_backend.models.enums.ChangeOperation;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class ChangeFeedControllerTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ChangeOutbox changeOutbox;
+
+    @Autowired
+    private ChangeEventBus changeEventBus;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @LocalServerPort
+    private int port;
+
+    private String getBaseUrl() {
+        return "http://localhost:" + port;
+    }
+
+    @Test
+    @DisplayName("Test committed changes are readable from the change feed")
+    public void testChangeFeedReturnsCommittedChanges() throws Exception {
+        long cursor = readToEnd(0);
+        long coordinatesId = createCoordinates();
+
+        JsonNode feed = readFeed(cursor);
+        JsonNode events = feed.get("events");
+        assertThat(events).as("Feed should contain the created coordinates").hasSize(1);
+        assertThat(events.get(0).get("entityType").asText()).isEqualTo("COORDINATES");
+        assertThat(events.get(0).get("operation").asText()).isEqualTo("CREATED");
+        assertThat(events.get(0).get("id").asLong()).isEqualTo(coordinatesId);
+        assertThat(events.get(0).get("payload").get("x").asLong()).isEqualTo(1);
+        assertThat(feed.get("cursor").asLong())
+                .as("Cursor should point to the returned change")
+                .isEqualTo(events.get(0).get("sequence").asLong())
+                .isGreaterThan(cursor);
+    }
+
+    @Test
+    @DisplayName("Test imported chunks carry the import id instead of an entity id")
+    public void testImportedChangeCarriesImportId() {
+        long cursor = readToEnd(0);
+
+        changeEventBus.publishImported(ChangeEntityType.ORGANIZATION, 42);
+
+        JsonNode event = readFeed(cursor).get("events").get(0);
+        assertThat(event.get("operation").asText()).isEqualTo("IMPORTED");
+        assertThat(event.get("importId").asLong()).isEqualTo(42);
+        assertThat(event.get("id").isNull())
+                .as("Import id should not be reported as an organization id")
+                .isTrue();
+    }
+
+    @Test
+    @DisplayName("Test long poll is completed as soon as a change is committed")
+    public void testLongPollWaitsForChange() throws Exception {
+        long cursor = readToEnd(0);
+
+        CompletableFuture<JsonNode> poll = CompletableFuture.supplyAsync(() -> readFeed(cursor));
+        Thread.sleep(300);
+        assertThat(poll).as("Poll should wait while there are no changes").isNotDone();
+        long coordinatesId = createCoordinates();
+
+        JsonNode feed = poll.get(5, TimeUnit.SECONDS);
+        assertThat(feed.get("events")).hasSize(1);
+        assertThat(feed.get("events").get(0).get("id").asLong()).isEqualTo(coordinatesId);
+    }
+
+    @Test
+    @DisplayName("Test a transaction that commits after a later one is not skipped by the feed")
+    public void testLateCommitIsNotSkipped() throws Exception {
+        long cursor = readToEnd(0);
+        CountDownLatch published = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+
+        CompletableFuture<Void> slowTransaction =
+                CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+                    changeEventBus.publish(ChangeEntityType.LOCATION, ChangeOperation.UPDATED, -41L, null);
+                    published.countDown();
+                    try {
+                        commit.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        assertThat(published.await(5, TimeUnit.SECONDS)).isTrue();
+        changeEventBus.publish(ChangeEntityType.LOCATION, ChangeOperation.UPDATED, -42L, null);
+
+        JsonNode first = readFeed(cursor);
+        assertThat(first.get("events")).hasSize(1);
+        assertThat(first.get("events").get(0).get("id").asLong()).isEqualTo(-42L);
+        commit.countDown();
+        slowTransaction.get(5, TimeUnit.SECONDS);
+
+        JsonNode second = readFeed(first.get("cursor").asLong());
+        assertThat(second.get("events"))
+                .as("The transaction started first should follow the one that committed first")
+                .hasSize(1);
+        assertThat(second.get("events").get(0).get("id").asLong()).isEqualTo(-41L);
+    }
+
+    @Test
+    @DisplayName("Test long poll returns the same cursor when nothing changes")
+    public void testLongPollTimesOut() {
+        long cursor = readToEnd(0);
+
+        JsonNode feed = readFeed(cursor);
+
+        assertThat(feed.get("events")).isEmpty();
+        assertThat(feed.get("cursor").asLong()).isEqualTo(cursor);
+    }
+
+    @Test
+    @DisplayName("Test changes older than the retention window are pruned")
+    public void testOutboxRetention() throws Exception {
+        createCoordinates();
+
+        assertThat(changeOutbox.deleteOlderThan(Duration.ZERO)).isPositive();
+
+        assertThat(readFeed(0).get("events"))
+                .as("Pruned changes should leave the feed")
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test change feed rejects invalid limit")
+    public void testInvalidLimit() {
+        ResponseEntity<String> response =
+                restTemplate.getForEntity(getBaseUrl() + "/api/changes?since=0&limit=0", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    private long readToEnd(long cursor) {
+        JsonNode feed = readFeed(cursor);
+        while (!feed.get("events").isEmpty()) {
+            cursor = feed.get("cursor").asLong();
+            feed = readFeed(cursor);
+        }
+        return cursor;
+    }
+
+    private JsonNode readFeed(long since) {
+        ResponseEntity<String> response =
+                restTemplate.getForEntity(getBaseUrl() + "/api/changes?since=" + since + "&limit=1000", String.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        try {
+            return objectMapper.readTree(response.getBody());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private long createCoordinates() throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        ResponseEntity<String> response = restTemplate.postForEntity(
+                getBaseUrl() + "/api/coordinates",
+                new HttpEntity<>(readJsonFile("requests/create-coordinates-request.json"), headers),
+                String.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return objectMapper.readTree(response.getBody()).get("id").asLong();
+    }
+}
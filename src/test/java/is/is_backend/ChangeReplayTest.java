@@ -0,0 +1,89 @@
+package is.is_backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import is.is_backend.event.ChangeEventBus;
+import is.is_backend.models.enums.ChangeEntityType;
+import is.is_backend.models.enums.ChangeOperation;
+import is.is_backend.utils.StompTestClient;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class ChangeReplayTest {
+
+    @Autowired
+    private ChangeEventBus changeEventBus;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    @DisplayName("Test reconnecting client gets only the missed changes replayed")
+    public void testReplayMissedChanges() throws Exception {
+        try (StompTestClient stompClient = StompTestClient.sockJs(port, messagingTemplate)) {
+            List<JsonNode> batches = new CopyOnWriteArrayList<>();
+            stompClient.subscribe(
+                    "/topic/location", JsonNode.class, (headers, payload) -> batches.add((JsonNode) payload));
+            changeEventBus.publish(ChangeEntityType.LOCATION, ChangeOperation.UPDATED, -10L, null);
+            await().atMost(10, TimeUnit.SECONDS).until(() -> !batches.isEmpty());
+            assertThat(batches).hasSize(1);
+            long lastSeen = batches.get(0).get(0).get("sequence").asLong();
+
+            changeEventBus.publish(ChangeEntityType.LOCATION, ChangeOperation.UPDATED, -11L, null);
+            changeEventBus.publish(ChangeEntityType.LOCATION, ChangeOperation.UPDATED, -12L, null);
+
+            await().atMost(10, TimeUnit.SECONDS).untilAsserted(() -> {
+                JsonNode replay = replaySince(stompClient, lastSeen);
+                assertThat(replay.get("reloadRequired").asBoolean()).isFalse();
+                assertThat(ids(replay))
+                        .as("Only the missed changes should be replayed")
+                        .containsExactly(-11L, -12L);
+            });
+
+            for (int i = 0; i < 100; i++) {
+                changeEventBus.publish(ChangeEntityType.LOCATION, ChangeOperation.UPDATED, -13L, null);
+            }
+            await().atMost(10, TimeUnit.SECONDS).untilAsserted(() -> assertThat(replaySince(stompClient, lastSeen)
+                            .get("reloadRequired")
+                            .asBoolean())
+                    .as("Client should reload once the gap has left the replay buffer")
+                    .isTrue());
+        }
+    }
+
+    private JsonNode replaySince(StompTestClient stompClient, long since) throws Exception {
+        List<JsonNode> replies = new CopyOnWriteArrayList<>();
+        StompHeaders subscribeHeaders = new StompHeaders();
+        subscribeHeaders.setDestination("/app/changes/replay");
+        subscribeHeaders.set("since", String.valueOf(since));
+        stompClient.request(subscribeHeaders, JsonNode.class, (headers, payload) -> replies.add((JsonNode) payload));
+        await().atMost(10, TimeUnit.SECONDS).until(() -> !replies.isEmpty());
+        assertThat(replies).hasSize(1);
+        return replies.get(0);
+    }
+
+    private static List<Long> ids(JsonNode replay) {
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode event : replay.get("events")) {
+            ids.add(event.get("id").asLong());
+        }
+        return ids;
+    }
+}
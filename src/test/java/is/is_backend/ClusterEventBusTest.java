@@ -0,0 +1,81 @@
+package is.is_backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import is.is_backend.dto.changeEventDto.ChangeEventDTO;
+import is.is_backend.event.ChangeEventBus;
+import is.is_backend.event.ChangeOutbox;
+import is.is_backend.models.enums.ChangeEntityType;
+import is.is_backend.models.enums.ChangeOperation;
+import is.is_backend.utils.StompTestClient;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class ClusterEventBusTest {
+
+    @Autowired
+    private ChangeEventBus changeEventBus;
+
+    @Autowired
+    private ChangeOutbox changeOutbox;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    @DisplayName("Test changes committed on another node reach local subscribers once")
+    public void testChangesFromOtherNode() throws Exception {
+        try (StompTestClient stompClient = StompTestClient.sockJs(port, messagingTemplate)) {
+            List<JsonNode> batches = new CopyOnWriteArrayList<>();
+            stompClient.subscribe(
+                    "/topic/location", JsonNode.class, (headers, payload) -> batches.add((JsonNode) payload));
+
+            transactionTemplate.executeWithoutResult(status -> changeOutbox.append(List.of(new ChangeEventDTO(
+                    ChangeEntityType.LOCATION, ChangeOperation.UPDATED, -30L, null, null, Map.of("name", "remote")))));
+            transactionTemplate.executeWithoutResult(
+                    status -> changeEventBus.publish(ChangeEntityType.LOCATION, ChangeOperation.UPDATED, -31L, null));
+            await().atMost(10, TimeUnit.SECONDS)
+                    .until(() -> events(batches, "id").size() >= 2);
+
+            assertThat(events(batches, "id"))
+                    .as("Remote and local changes should each be delivered exactly once")
+                    .containsExactly(-30L, -31L);
+            assertThat(events(batches, "sequence"))
+                    .as("Sequence should be the outbox position shared by all nodes")
+                    .containsExactly(changeOutbox.lastPosition() - 1, changeOutbox.lastPosition());
+            assertThat(batches.get(0).get(0).get("payload").get("name").asText())
+                    .isEqualTo("remote");
+        }
+    }
+
+    private static List<Long> events(List<JsonNode> batches, String field) {
+        List<Long> values = new ArrayList<>();
+        for (JsonNode batch : batches) {
+            for (JsonNode event : batch) {
+                values.add(event.get(field).asLong());
+            }
+        }
+        return values;
+    }
+}
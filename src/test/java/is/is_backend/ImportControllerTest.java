@@ -0,0 +1,834 @@
+package is.is_backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.awaitility.Awaitility.await;
+
+import is.is_backend.config.ImportProperties;
+import is.is_backend.importer.ImportScheduler;
+import is.is_backend.importer.ImportTicket;
+import is.is_backend.models.ImportHistory;
+import is.is_backend.models.Organization;
+import is.is_backend.models.enums.ImportMode;
+import is.is_backend.repository.AddressRepository;
+import is.is_backend.repository.CoordinatesRepository;
+import is.is_backend.repository.ImportHistoryRepository;
+import is.is_backend.repository.LocationRepository;
+import is.is_backend.repository.OrganizationRepository;
+import is.is_backend.service.HotFolderImportService;
+import is.is_backend.service.ImportService;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.*;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class ImportControllerTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private ImportHistoryRepository importHistoryRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private CoordinatesRepository coordinatesRepository;
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private HotFolderImportService hotFolderImportService;
+
+    @Autowired
+    private ImportProperties importProperties;
+
+    @Autowired
+    private ImportScheduler importScheduler;
+
+    @LocalServerPort
+    private int port;
+
+    private String getBaseUrl() {
+        return "http://localhost:" + port;
+    }
+
+    @Test
+    @DisplayName("Test streaming import of a file above the atomic limit")
+    public void testStreamingImport() {
+        long before = organizationRepository.count();
+        long locationsBefore = locationRepository.count();
+        String json = generateOrganizations("Streaming", 250, -1);
+
+        ResponseEntity<String> response = postImport(json, "STREAMING");
+
+        assertThat(response.getStatusCode())
+                .as("API should return 200 OK status")
+                .isEqualTo(HttpStatus.OK);
+        assertThat(organizationRepository.count() - before)
+                .as("All organizations should be imported")
+                .isEqualTo(250);
+        assertThat(locationRepository.count() - locationsBefore)
+                .as("Identical locations should be stored once per chunk")
+                .isEqualTo(3);
+
+        ImportHistory history = lastImportHistory();
+        assertThat(history.getStatus()).as("Import should be successful").isEqualTo(0);
+        assertThat(history.getCounter()).as("Counter should match file size").isEqualTo(250);
+        assertThat(history.getChunkCount())
+                .as("File should be written in three chunks")
+                .isEqualTo(3);
+        assertThat(history.getPeakBatchSize())
+                .as("Largest chunk should match chunk size")
+                .isEqualTo(100);
+        assertThat(history.getBytesRead())
+                .as("Bytes read should match file size")
+                .isEqualTo(json.getBytes(StandardCharsets.UTF_8).length);
+        assertThat(history.getRowsPerSecond())
+                .as("Throughput should be recorded")
+                .isPositive();
+        assertThat(history.getInsertMillis())
+                .as("Insert time should be recorded")
+                .isNotNull();
+        assertThat(Path.of("target", "import-spill"))
+                .as("Spilled import state should be removed after import")
+                .isEmptyDirectory();
+    }
+
+    @Test
+    @DisplayName("Test parallel import pipeline")
+    public void testParallelImport() {
+        long before = organizationRepository.count();
+        String json = generateOrganizations("Parallel", 650, -1);
+
+        ResponseEntity<String> response = postImport(json, "PARALLEL");
+
+        assertThat(response.getStatusCode())
+                .as("API should return 200 OK status")
+                .isEqualTo(HttpStatus.OK);
+        assertThat(organizationRepository.count() - before)
+                .as("All organizations should be imported")
+                .isEqualTo(650);
+
+        ImportHistory history = lastImportHistory();
+        assertThat(history.getStatus()).as("Import should be successful").isEqualTo(0);
+        assertThat(history.getCounter()).as("Counter should match file size").isEqualTo(650);
+    }
+
+    @Test
+    @DisplayName("Test parallel import reports a duplicate across chunks")
+    public void testParallelImportFailure() {
+        String json = generateOrganizations("ParallelBroken", 450, 420);
+
+        ResponseEntity<String> response = postImport(json, "PARALLEL");
+
+        assertThat(response.getStatusCode())
+                .as("API should return 400 BAD REQUEST status")
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody())
+                .as("Duplicate fullName should be reported")
+                .contains("Organization with fullName ParallelBroken 0");
+        ImportHistory history = lastImportHistory();
+        assertThat(history.getStatus()).as("Import should be failed").isEqualTo(1);
+
+        ResponseEntity<String> resumed = restTemplate.postForEntity(
+                getBaseUrl() + "/api/import/" + history.getId() + "/resume", null, String.class);
+        assertThat(resumed.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(resumed.getBody())
+                .as("Resume should explain that parallel imports cannot be resumed")
+                .contains("PARALLEL imports commit chunks out of order");
+    }
+
+    @Test
+    @DisplayName("Test upsert import updates existing organizations by fullName")
+    public void testUpsertImport() {
+        postImport(generateOrganizations("Upsert", 150, -1), "STREAMING");
+        long before = organizationRepository.count();
+        long coordinatesBefore = coordinatesRepository.count();
+        long addressesBefore = addressRepository.count();
+        long locationsBefore = locationRepository.count();
+        String json =
+                generateOrganizations("Upsert", 220, -1).replace("\"employeesCount\": 3", "\"employeesCount\": 7");
+
+        ResponseEntity<String> response = postImport(json, "UPSERT");
+
+        assertThat(response.getStatusCode())
+                .as("API should return 200 OK status")
+                .isEqualTo(HttpStatus.OK);
+        assertThat(organizationRepository.count() - before)
+                .as("Only new organizations should be inserted")
+                .isEqualTo(70);
+        assertThat(organizationRepository.findAll().stream()
+                        .filter(organization -> organization.getFullName().startsWith("Upsert "))
+                        .map(Organization::getEmployeesCount))
+                .as("Existing organizations should be updated")
+                .hasSize(220)
+                .containsOnly(7);
+        assertThat(coordinatesRepository.count() - coordinatesBefore)
+                .as("Replaced coordinates should be deleted")
+                .isEqualTo(70);
+        assertThat(addressRepository.count() - addressesBefore)
+                .as("Replaced addresses should be deleted")
+                .isEqualTo(140);
+        assertThat(locationRepository.count() - locationsBefore)
+                .as("Replaced locations should be deleted, new ones stored once per chunk")
+                .isEqualTo(1);
+
+        ImportHistory history = lastImportHistory();
+        assertThat(history.getStatus()).as("Import should be successful").isEqualTo(0);
+        assertThat(history.getCounter()).as("Counter should match file size").isEqualTo(220);
+    }
+
+    @Test
+    @DisplayName("Test repeated upload of an imported file is skipped")
+    public void testRepeatedUploadIsSkipped() {
+        String json = generateOrganizations("Repeated", 20, -1);
+        postImport(json, "STREAMING");
+        ImportHistory firstImport = lastImportHistory();
+        long before = organizationRepository.count();
+
+        ResponseEntity<String> response = postImport(json, "STREAMING");
+
+        assertThat(response.getStatusCode())
+                .as("API should return 200 OK status")
+                .isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_LOCATION))
+                .as("Response should point to the earlier import")
+                .isEqualTo("/api/import/" + firstImport.getId());
+        assertThat(organizationRepository.count())
+                .as("Nothing should be imported again")
+                .isEqualTo(before);
+
+        ImportHistory history = lastImportHistory();
+        assertThat(history.getStatus()).as("Import should be skipped").isEqualTo(4);
+        assertThat(history.getDuplicateOfId())
+                .as("Duplicate should reference the earlier import")
+                .isEqualTo(firstImport.getId());
+        assertThat(history.getFileHash())
+                .as("Both imports should share the file hash")
+                .isEqualTo(firstImport.getFileHash());
+    }
+
+    @Test
+    @DisplayName("Test concurrent uploads of the same file import it once")
+    public void testConcurrentDuplicateUploads() {
+        String json = generateOrganizations("Concurrent", 20, -1);
+        long before = organizationRepository.count();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<CompletableFuture<ResponseEntity<String>>> uploads = Stream.of("first-uploader", "second-uploader")
+                .map(clientId -> CompletableFuture.supplyAsync(() -> {
+                    awaitUninterruptibly(start);
+                    return restTemplate.postForEntity(
+                            getBaseUrl() + "/api/import", createMultipartEntity(json, clientId), String.class);
+                }))
+                .toList();
+        start.countDown();
+        List<ResponseEntity<String>> responses =
+                uploads.stream().map(CompletableFuture::join).toList();
+
+        assertThat(responses)
+                .as("Exactly one upload should import the file")
+                .filteredOn(response -> response.getStatusCode() == HttpStatus.OK
+                        && !response.getHeaders().containsKey(HttpHeaders.CONTENT_LOCATION))
+                .hasSize(1);
+        assertThat(responses)
+                .as("The other upload should be rejected while in progress or skipped once imported")
+                .filteredOn(response -> response.getStatusCode() == HttpStatus.CONFLICT
+                        || response.getHeaders().containsKey(HttpHeaders.CONTENT_LOCATION))
+                .hasSize(1);
+        assertThat(organizationRepository.count())
+                .as("The file should be imported only once")
+                .isEqualTo(before + 20);
+    }
+
+    @Test
+    @DisplayName("Test upload of a file that is still being imported is rejected")
+    public void testUploadOfFileInProgressIsRejected() throws Exception {
+        String json = generateOrganizations("InProgress", 20, -1);
+        Object jobId;
+        try (ImportTicket ticket = importScheduler.admit("in-progress-holder", Duration.ZERO)) {
+            ResponseEntity<Map> job = restTemplate.postForEntity(
+                    getBaseUrl() + "/api/import/async", createMultipartEntity(json, "in-progress-holder"), Map.class);
+            jobId = job.getBody().get("id");
+
+            ResponseEntity<String> response = restTemplate.postForEntity(
+                    getBaseUrl() + "/api/import?mode=STREAMING",
+                    createMultipartEntity(json, "in-progress-uploader"),
+                    String.class);
+
+            assertThat(response.getStatusCode())
+                    .as("API should return 409 CONFLICT while the file is queued")
+                    .isEqualTo(HttpStatus.CONFLICT);
+            assertThat(response.getBody())
+                    .as("Error should point to the import in progress")
+                    .contains("being imported by import " + jobId);
+        }
+
+        assertThat(awaitImportJob(jobId).get("status"))
+                .as("Queued import should succeed once the slot is released")
+                .isEqualTo(0);
+        ResponseEntity<String> response = postImport(json, "STREAMING");
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_LOCATION))
+                .as("Upload after the import finished should be skipped")
+                .isEqualTo("/api/import/" + jobId);
+    }
+
+    @Test
+    @DisplayName("Test failed import releases the file for a new upload")
+    public void testFailedImportReleasesFile() {
+        postImport(
+                generateOrganizations("Released", 1, -1)
+                        .replace("\"fullName\": \"Released 0\"", "\"fullName\": \"Release 5\""),
+                "STREAMING");
+        String json = generateOrganizations("Release", 10, -1);
+
+        assertThat(postImport(json, "STREAMING").getStatusCode())
+                .as("Import with a duplicate fullName should fail")
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(lastImportHistory().getClaimedFileHash())
+                .as("Failed import should release its file hash")
+                .isNull();
+
+        organizationRepository.deleteAll(organizationRepository.findByName("Released"));
+        ResponseEntity<String> response = postImport(json, "STREAMING");
+
+        assertThat(response.getStatusCode())
+                .as("Upload after the failure should import the file")
+                .isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().containsKey(HttpHeaders.CONTENT_LOCATION))
+                .as("Upload after the failure should not be skipped")
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("Test streaming import keeps committed chunks on failure")
+    public void testStreamingImportFailure() {
+        long before = organizationRepository.count();
+        String json = generateOrganizations("Broken", 250, 230);
+
+        ResponseEntity<String> response = postImport(json, "STREAMING");
+
+        assertThat(response.getStatusCode())
+                .as("API should return 400 BAD REQUEST status")
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody())
+                .as("Error should point to the broken object")
+                .contains("object 231");
+        assertThat(organizationRepository.count() - before)
+                .as("Only chunks before the broken object should be committed")
+                .isEqualTo(200);
+
+        ImportHistory history = lastImportHistory();
+        assertThat(history.getStatus()).as("Import should be failed").isEqualTo(1);
+        assertThat(history.getCounter())
+                .as("Counter should show committed objects")
+                .isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Test streaming import reports every conflict with its object number")
+    public void testStreamingImportConflicts() {
+        postImport(generateOrganizations("Existing", 5, -1), "STREAMING");
+        String json = generateOrganizations("Conflict", 6, 5)
+                .replace("\"fullName\": \"Conflict 1\"", "\"fullName\": \"Existing 1\"");
+
+        ResponseEntity<String> response = postImport(json, "STREAMING");
+
+        assertThat(response.getStatusCode())
+                .as("API should return 400 BAD REQUEST status")
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody())
+                .as("Conflict with an existing organization should be reported")
+                .contains("object 2: Organization with fullName Existing 1 already exists");
+        assertThat(response.getBody())
+                .as("Duplicate inside the file should be reported")
+                .contains("object 6: Organization with fullName Conflict 0 is duplicated in the file");
+    }
+
+    @Test
+    @DisplayName("Test streaming import of a gzip-compressed NDJSON file")
+    public void testGzipNdjsonImport() throws Exception {
+        long before = organizationRepository.count();
+        String json = generateOrganizations("Ndjson", 120, -1);
+        String ndjson = json.substring(1, json.length() - 1).replace("\n", "").replace("},{", "}\n{");
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(ndjson.getBytes(StandardCharsets.UTF_8));
+        }
+        ResponseEntity<String> response = restTemplate.postForEntity(
+                getBaseUrl() + "/api/import?mode=STREAMING",
+                createMultipartEntity(compressed.toByteArray(), "organizations.ndjson.gz"),
+                String.class);
+
+        assertThat(response.getStatusCode())
+                .as("API should return 200 OK status")
+                .isEqualTo(HttpStatus.OK);
+        assertThat(organizationRepository.count() - before)
+                .as("All organizations should be imported")
+                .isEqualTo(120);
+    }
+
+    @Test
+    @DisplayName("Test streaming import of a flat CSV file")
+    public void testCsvImport() {
+        long before = organizationRepository.count();
+        String csv =
+                """
+                name,fullName,type,annualTurnover,employeesCount,coordinatesRequest.x,coordinatesRequest.y,\
+                officialAddressRequest.zipCode,officialAddressRequest.locationRequest.z,\
+                postalAddressRequest.zipCode,postalAddressRequest.locationRequest.z,postalAddressRequest.locationRequest.name
+                Csv,Csv 0,TRUST,10000000,3,1,2,csv-o-0,1,csv-p-0,1,Town
+                Csv,Csv 1,TRUST,10000000,3,1,2,csv-o-1,1,csv-p-1,1,Town
+                """;
+
+        ResponseEntity<String> response = restTemplate.postForEntity(
+                getBaseUrl() + "/api/import?mode=STREAMING",
+                createMultipartEntity(csv.getBytes(StandardCharsets.UTF_8), "organizations.csv"),
+                String.class);
+
+        assertThat(response.getStatusCode())
+                .as("API should return 200 OK status")
+                .isEqualTo(HttpStatus.OK);
+        assertThat(organizationRepository.count() - before)
+                .as("All organizations should be imported")
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Test dry run reports every failure without writing")
+    public void testDryRun() {
+        postImport(generateOrganizations("DryExisting", 3, -1), "STREAMING");
+        long before = organizationRepository.count();
+        long historyBefore = importHistoryRepository.count();
+        String json = generateOrganizations("Dry", 250, 240)
+                .replace("\"fullName\": \"Dry 10\"", "\"fullName\": \"DryExisting 1\"");
+
+        ResponseEntity<String> response = restTemplate.postForEntity(
+                getBaseUrl() + "/api/import/dry-run", createMultipartEntity(json), String.class);
+
+        assertThat(response.getStatusCode())
+                .as("API should return 200 OK status")
+                .isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().lines())
+                .as("Every failing row should be reported")
+                .containsExactly(
+                        "{\"row\":11,\"message\":\"Organization with fullName DryExisting 1 already exists\"}",
+                        "{\"row\":241,\"message\":\"Organization with fullName Dry 0 is duplicated in the file\"}");
+        assertThat(organizationRepository.count())
+                .as("Dry run should not import anything")
+                .isEqualTo(before);
+        assertThat(importHistoryRepository.count())
+                .as("Dry run should not record import history")
+                .isEqualTo(historyBefore);
+    }
+
+    @Test
+    @DisplayName("Test asynchronous import job")
+    public void testAsyncImportJob() throws Exception {
+        String json = generateOrganizations("Async", 150, -1);
+
+        ResponseEntity<Map> response =
+                restTemplate.postForEntity(getBaseUrl() + "/api/import/async", createMultipartEntity(json), Map.class);
+
+        assertThat(response.getStatusCode())
+                .as("API should return 202 ACCEPTED status")
+                .isEqualTo(HttpStatus.ACCEPTED);
+        Map<?, ?> job = awaitImportJob(response.getBody().get("id"));
+
+        assertThat(job.get("status")).as("Import job should be successful").isEqualTo(0);
+        assertThat(job.get("counter")).as("Counter should match file size").isEqualTo(150);
+    }
+
+    @Test
+    @DisplayName("Test failed async import resumes from its last checkpoint")
+    public void testResumeImportJob() throws Exception {
+        postImport(
+                generateOrganizations("Blocker", 1, -1)
+                        .replace("\"fullName\": \"Blocker 0\"", "\"fullName\": \"Resume 230\""),
+                "STREAMING");
+        String json = generateOrganizations("Resume", 250, -1);
+
+        ResponseEntity<Map> response =
+                restTemplate.postForEntity(getBaseUrl() + "/api/import/async", createMultipartEntity(json), Map.class);
+        Object jobId = response.getBody().get("id");
+        Map<?, ?> job = awaitImportJob(jobId);
+
+        assertThat(job.get("status")).as("Import job should be failed").isEqualTo(1);
+        assertThat(job.get("counter"))
+                .as("Checkpoint should point after the last committed chunk")
+                .isEqualTo(200);
+
+        organizationRepository.deleteAll(organizationRepository.findByName("Blocker"));
+        ResponseEntity<Map> resumed =
+                restTemplate.postForEntity(getBaseUrl() + "/api/import/" + jobId + "/resume", null, Map.class);
+
+        assertThat(resumed.getStatusCode())
+                .as("API should return 202 ACCEPTED status")
+                .isEqualTo(HttpStatus.ACCEPTED);
+        job = awaitImportJob(jobId);
+        assertThat(job.get("status")).as("Resumed import should be successful").isEqualTo(0);
+        assertThat(job.get("counter")).as("Counter should match file size").isEqualTo(250);
+        assertThat(((Number) job.get("rowsPerSecond")).doubleValue()
+                        * ((Number) job.get("durationMillis")).longValue()
+                        / 1000)
+                .as("Throughput of the resumed run should count only the rows it wrote")
+                .isCloseTo(50, within(1.0));
+        assertThat(organizationRepository.findByName("Resume"))
+                .as("Committed chunks should not be imported twice")
+                .hasSize(250);
+
+        ResponseEntity<String> repeated =
+                restTemplate.postForEntity(getBaseUrl() + "/api/import/" + jobId + "/resume", null, String.class);
+        assertThat(repeated.getStatusCode())
+                .as("Finished import should not be resumed")
+                .isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    @Test
+    @DisplayName("Test import interrupted by a restart is resumed on startup")
+    public void testResumeAfterRestart() throws Exception {
+        postImport(
+                generateOrganizations("RestartBlocker", 1, -1)
+                        .replace("\"fullName\": \"RestartBlocker 0\"", "\"fullName\": \"Restart 230\""),
+                "STREAMING");
+        ResponseEntity<Map> response = restTemplate.postForEntity(
+                getBaseUrl() + "/api/import/async",
+                createMultipartEntity(generateOrganizations("Restart", 250, -1)),
+                Map.class);
+        Object jobId = response.getBody().get("id");
+        awaitImportJob(jobId);
+
+        organizationRepository.deleteAll(organizationRepository.findByName("RestartBlocker"));
+        ImportHistory interrupted =
+                importHistoryRepository.findById(((Number) jobId).longValue()).orElseThrow();
+        interrupted.setStatus(ImportHistory.RUNNING_STATUS);
+        importHistoryRepository.save(interrupted);
+        importService.resumeInterruptedImports();
+
+        Map<?, ?> job = awaitImportJob(jobId);
+        assertThat(job.get("status")).as("Interrupted import should be resumed").isEqualTo(0);
+        assertThat(organizationRepository.findByName("Restart"))
+                .as("Rows committed before the restart should not be imported twice")
+                .hasSize(250);
+    }
+
+    @Test
+    @DisplayName("Test restart leaves imports owned by another node untouched")
+    public void testRestartSkipsOtherNodeImports() {
+        ImportHistory running = new ImportHistory();
+        running.setStatus(ImportHistory.RUNNING_STATUS);
+        running.setCounter(0);
+        running.setImportMode(ImportMode.STREAMING);
+        running.setOwnerNode("other-node");
+        running = importHistoryRepository.save(running);
+
+        importService.resumeInterruptedImports();
+
+        assertThat(importHistoryRepository
+                        .findById(running.getId())
+                        .orElseThrow()
+                        .getStatus())
+                .as("Import running on another node should not be failed or resumed")
+                .isEqualTo(ImportHistory.RUNNING_STATUS);
+        ResponseEntity<String> resumed = restTemplate.postForEntity(
+                getBaseUrl() + "/api/import/" + running.getId() + "/resume", null, String.class);
+        assertThat(resumed.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    @Test
+    @DisplayName("Test per-client quota rejects imports while other clients proceed")
+    public void testClientImportQuota() throws Exception {
+        ResponseEntity<Map> response = restTemplate.postForEntity(
+                getBaseUrl() + "/api/import/async",
+                createMultipartEntity(generateOrganizations("Quota", 3000, -1), "quota-client"),
+                Map.class);
+        Object jobId = response.getBody().get("id");
+        Map<?, ?> job = restTemplate.getForObject(getBaseUrl() + "/api/import/" + jobId, Map.class);
+        for (int attempt = 0; attempt < 100 && !Integer.valueOf(2).equals(job.get("status")); attempt++) {
+            Thread.sleep(50);
+            job = restTemplate.getForObject(getBaseUrl() + "/api/import/" + jobId, Map.class);
+        }
+
+        ResponseEntity<String> sameClient = restTemplate.postForEntity(
+                getBaseUrl() + "/api/import?mode=STREAMING",
+                createMultipartEntity(generateOrganizations("QuotaSame", 5, -1), "quota-client"),
+                String.class);
+        ResponseEntity<String> otherClient = restTemplate.postForEntity(
+                getBaseUrl() + "/api/import?mode=STREAMING",
+                createMultipartEntity(generateOrganizations("QuotaOther", 5, -1), "other-client"),
+                String.class);
+
+        assertThat(sameClient.getStatusCode())
+                .as("Import above the client quota should be rejected")
+                .isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(otherClient.getStatusCode())
+                .as("Another client should not wait for the running import")
+                .isEqualTo(HttpStatus.OK);
+        job = awaitImportJob(jobId);
+        assertThat(job.get("status")).as("Running import should be successful").isEqualTo(0);
+        assertThat(job.get("clientId")).as("Client should be recorded").isEqualTo("quota-client");
+    }
+
+    @Test
+    @DisplayName("Test queued job waiting for its client quota does not block other clients")
+    public void testQueuedJobsDoNotBlockOtherClients() throws Exception {
+        ResponseEntity<Map> first = restTemplate.postForEntity(
+                getBaseUrl() + "/api/import/async",
+                createMultipartEntity(generateOrganizations("QueueFirst", 3000, -1), "queue-client"),
+                Map.class);
+        ResponseEntity<Map> second = restTemplate.postForEntity(
+                getBaseUrl() + "/api/import/async",
+                createMultipartEntity(generateOrganizations("QueueSecond", 3000, -1), "queue-client"),
+                Map.class);
+        ResponseEntity<Map> other = restTemplate.postForEntity(
+                getBaseUrl() + "/api/import/async",
+                createMultipartEntity(generateOrganizations("QueueOther", 5, -1), "queue-other-client"),
+                Map.class);
+
+        Map<?, ?> otherJob = awaitImportJob(other.getBody().get("id"));
+        Map<?, ?> secondJob = restTemplate.getForObject(
+                getBaseUrl() + "/api/import/" + second.getBody().get("id"), Map.class);
+
+        assertThat(otherJob.get("status"))
+                .as("Another client's job should run while the first client is at its quota")
+                .isEqualTo(0);
+        assertThat(secondJob.get("status"))
+                .as("Job over its client quota should still be waiting")
+                .isNotEqualTo(0);
+        assertThat(awaitImportJob(first.getBody().get("id")).get("status"))
+                .as("First job should be successful")
+                .isEqualTo(0);
+        assertThat(awaitImportJob(second.getBody().get("id")).get("status"))
+                .as("Queued job should start once its client quota frees up")
+                .isEqualTo(0);
+        assertThat(organizationRepository.findByName("QueueSecond"))
+                .as("Queued job should import its rows")
+                .hasSize(3000);
+    }
+
+    @Test
+    @DisplayName("Test hot folder imports dropped files and sorts them into done and failed folders")
+    public void testHotFolderImport() throws Exception {
+        Path hotFolder = Path.of("target", "import-hot-folder");
+        importProperties.setHotFolder(hotFolder.toString());
+        hotFolderImportService.start();
+        try {
+            assertHotFolderImport(hotFolder);
+        } finally {
+            hotFolderImportService.stop();
+            importProperties.setHotFolder(null);
+        }
+    }
+
+    @Test
+    @DisplayName("Test hot folder keeps a file in processing until an import slot frees up")
+    public void testHotFolderWaitsForAdmission() throws Exception {
+        Path hotFolder = Path.of("target", "import-hot-folder-admission");
+        importProperties.setHotFolder(hotFolder.toString());
+        hotFolderImportService.start();
+        try {
+            Path waiting;
+            try (ImportTicket ticket = importScheduler.admit("hot-folder", Duration.ZERO)) {
+                waiting = dropFile(
+                        hotFolder,
+                        "waiting-" + System.nanoTime() + ".json",
+                        generateOrganizations("HotFolderWaiting", 10, -1));
+                Path processing = hotFolder.resolve("processing").resolve(waiting.getFileName());
+                await().atMost(10, TimeUnit.SECONDS).until(() -> Files.exists(processing));
+                Thread.sleep(importProperties.getAdmissionTimeout().toMillis() * 2);
+                assertThat(processing)
+                        .as("File should wait in processing while the client quota is taken")
+                        .exists();
+            }
+
+            assertThat(awaitMovedFile(
+                            hotFolder.resolve("done"), waiting.getFileName().toString()))
+                    .as("File should be imported once the slot is released")
+                    .isNotNull();
+            assertThat(organizationRepository.findByName("HotFolderWaiting")).hasSize(10);
+        } finally {
+            hotFolderImportService.stop();
+            importProperties.setHotFolder(null);
+        }
+    }
+
+    @Test
+    @DisplayName("Test hot folder refuses to start in ATOMIC mode")
+    public void testHotFolderRejectsAtomicMode() {
+        importProperties.setHotFolder(
+                Path.of("target", "import-hot-folder-atomic").toString());
+        importProperties.setHotFolderMode(ImportMode.ATOMIC);
+        try {
+            assertThatThrownBy(() -> hotFolderImportService.start())
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("ATOMIC");
+        } finally {
+            importProperties.setHotFolderMode(ImportMode.STREAMING);
+            importProperties.setHotFolder(null);
+        }
+    }
+
+    private void assertHotFolderImport(Path hotFolder) throws Exception {
+        String suffix = Long.toString(System.nanoTime());
+        Path imported = dropFile(hotFolder, "hot-" + suffix + ".json", generateOrganizations("HotFolder", 120, -1));
+        Path broken = dropFile(hotFolder, "broken-" + suffix + ".json", "[{\"name\": ");
+
+        Path done =
+                awaitMovedFile(hotFolder.resolve("done"), imported.getFileName().toString());
+        Path failed =
+                awaitMovedFile(hotFolder.resolve("failed"), broken.getFileName().toString());
+
+        assertThat(done).as("Imported file should be moved to the done folder").isNotNull();
+        assertThat(failed)
+                .as("Broken file should be moved to the failed folder")
+                .isNotNull();
+        assertThat(organizationRepository.findByName("HotFolder"))
+                .as("All organizations should be imported")
+                .hasSize(120);
+
+        ImportHistory history = importHistoryRepository.findAll().stream()
+                .filter(importHistory -> imported.getFileName().toString().equals(importHistory.getFileName()))
+                .findFirst()
+                .orElseThrow();
+        assertThat(history.getStatus()).as("Import should be successful").isEqualTo(0);
+        assertThat(history.getCounter()).as("Counter should match file size").isEqualTo(120);
+        assertThat(done.getFileName().toString())
+                .as("Done file should be prefixed with its import id")
+                .startsWith(history.getId() + "-");
+    }
+
+    private Path dropFile(Path hotFolder, String name, String content) throws Exception {
+        Path partial = Files.writeString(hotFolder.resolve(name + ".part"), content);
+        return Files.move(partial, hotFolder.resolve(name));
+    }
+
+    private Path awaitMovedFile(Path directory, String name) throws Exception {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            try (Stream<Path> files = Files.list(directory)) {
+                Optional<Path> moved = files.filter(
+                                file -> file.getFileName().toString().endsWith("-" + name))
+                        .findFirst();
+                if (moved.isPresent()) {
+                    return moved.get();
+                }
+            }
+            Thread.sleep(300);
+        }
+        return null;
+    }
+
+    private Map<?, ?> awaitImportJob(Object jobId) throws InterruptedException {
+        Map<?, ?> job = null;
+        for (int attempt = 0; attempt < 100; attempt++) {
+            job = restTemplate.getForObject(getBaseUrl() + "/api/import/" + jobId, Map.class);
+            if (Integer.valueOf(0).equals(job.get("status"))
+                    || Integer.valueOf(1).equals(job.get("status"))) {
+                break;
+            }
+            Thread.sleep(300);
+        }
+        return job;
+    }
+
+    private void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ResponseEntity<String> postImport(String json, String mode) {
+        return restTemplate.postForEntity(
+                getBaseUrl() + "/api/import?mode=" + mode, createMultipartEntity(json), String.class);
+    }
+
+    private HttpEntity<MultiValueMap<String, Object>> createMultipartEntity(String json) {
+        return createMultipartEntity(json.getBytes(StandardCharsets.UTF_8), "organizations.json");
+    }
+
+    private HttpEntity<MultiValueMap<String, Object>> createMultipartEntity(String json, String clientId) {
+        HttpEntity<MultiValueMap<String, Object>> entity = createMultipartEntity(json);
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(entity.getHeaders());
+        headers.set("X-Client-Id", clientId);
+        return new HttpEntity<>(entity.getBody(), headers);
+    }
+
+    private HttpEntity<MultiValueMap<String, Object>> createMultipartEntity(byte[] content, String filename) {
+        ByteArrayResource file = new ByteArrayResource(content) {
+            @Override
+            public String getFilename() {
+                return filename;
+            }
+        };
+        MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+        body.add("file", file);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+        return new HttpEntity<>(body, headers);
+    }
+
+    private ImportHistory lastImportHistory() {
+        return importHistoryRepository.findAll().stream()
+                .max(Comparator.comparingLong(ImportHistory::getId))
+                .orElseThrow();
+    }
+
+    private String generateOrganizations(String prefix, int count, int brokenIndex) {
+        StringJoiner joiner = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < count; i++) {
+            String fullName = i == brokenIndex ? prefix + " 0" : prefix + " " + i;
+            joiner.add(
+                    """
+                    {
+                      "name": "%s",
+                      "coordinatesRequest": {"x": %d, "y": 1},
+                      "officialAddressRequest": {"zipCode": "%s-o-%d", "locationRequest": {"z": 1}},
+                      "annualTurnover": 10000000,
+                      "employeesCount": 3,
+                      "fullName": "%s",
+                      "type": "TRUST",
+                      "postalAddressRequest": {"zipCode": "%s-p-%d", "locationRequest": {"z": 1}}
+                    }
+                    """
+                            .formatted(prefix, i, prefix, i, fullName, prefix, i));
+        }
+        return joiner.toString();
+    }
+}
@@ -0,0 +1,97 @@
+package is.is_backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import is.is_backend.event.ChangeEventBus;
+import is.is_backend.models.enums.ChangeEntityType;
+import is.is_backend.models.enums.ChangeOperation;
+import is.is_backend.utils.StompTestClient;
+import is.is_backend.websocket.PayloadFormatNegotiator;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.converter.ByteArrayMessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class NativeStompEndpointTest {
+
+    @Autowired
+    private ChangeEventBus changeEventBus;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    @DisplayName("Test native endpoint negotiates permessage-deflate")
+    public void testNativeEndpointCompression() throws Exception {
+        WebSocketSession rawSession = new StandardWebSocketClient()
+                .execute(
+                        new AbstractWebSocketHandler() {},
+                        deflateHeaders(),
+                        URI.create("ws://localhost:" + port + "/ws-native"))
+                .get(10, TimeUnit.SECONDS);
+        try {
+            assertThat(rawSession.getExtensions())
+                    .extracting(WebSocketExtension::getName)
+                    .as("Native endpoint should negotiate permessage-deflate")
+                    .contains("permessage-deflate");
+        } finally {
+            rawSession.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Test native endpoint sends CBOR change events to clients that ask for them")
+    public void testNativeEndpointWithCbor() throws Exception {
+        try (StompTestClient stompClient =
+                StompTestClient.nativeEndpoint(port, new ByteArrayMessageConverter(), messagingTemplate)) {
+            StompHeaders connectHeaders = new StompHeaders();
+            connectHeaders.set(PayloadFormatNegotiator.PAYLOAD_FORMAT_HEADER, PayloadFormatNegotiator.CBOR_FORMAT);
+            StompSession session = stompClient.connect(deflateHeaders(), connectHeaders);
+            List<StompHeaders> frameHeaders = new CopyOnWriteArrayList<>();
+            List<byte[]> frames = new CopyOnWriteArrayList<>();
+            stompClient.subscribe(session, "/topic/location", byte[].class, (headers, payload) -> {
+                frameHeaders.add(headers);
+                frames.add((byte[]) payload);
+            });
+
+            changeEventBus.publish(ChangeEntityType.LOCATION, ChangeOperation.UPDATED, -20L, null);
+            await().atMost(10, TimeUnit.SECONDS).until(() -> !frames.isEmpty());
+
+            assertThat(frames).hasSize(1);
+            assertThat(frameHeaders.get(0).getFirst(PayloadFormatNegotiator.PAYLOAD_FORMAT_HEADER))
+                    .isEqualTo(PayloadFormatNegotiator.CBOR_FORMAT);
+            JsonNode events = new CBORMapper().readTree(frames.get(0));
+            assertThat(events.get(0).get("id").asLong()).isEqualTo(-20L);
+            assertThat(events.get(0).get("entityType").asText()).isEqualTo("LOCATION");
+        }
+    }
+
+    private static WebSocketHttpHeaders deflateHeaders() {
+        WebSocketHttpHeaders handshakeHeaders = new WebSocketHttpHeaders();
+        handshakeHeaders.setSecWebSocketExtensions(List.of(new WebSocketExtension("permessage-deflate")));
+        return handshakeHeaders;
+    }
+}
@@ -0,0 +1,228 @@
+package is.is_backend;
+
+import static is.is_backend.utils.FileReader.readJsonFile;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import is.is_backend.event.ChangeEventBus;
+import is.is_backend.models.enums.ChangeEntityType;
+import is.is_backend.models.enums.ChangeOperation;
+import is.is_backend.service.NotificationService;
+import is.is_backend.utils.StompTestClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class NotificationCoalescingTest {
+
+    @Autowired
+    private ChangeEventBus changeEventBus;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    @DisplayName("Test burst of changes is sent as one aggregated message")
+    public void testBurstIsCoalesced() throws Exception {
+        try (StompTestClient stompClient = StompTestClient.sockJs(port, messagingTemplate)) {
+            List<StompHeaders> frames = new CopyOnWriteArrayList<>();
+            stompClient.subscribe("/topic/all", String.class, (headers, payload) -> frames.add(headers));
+
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = 0; i < 50; i++) {
+                    changeEventBus.publish(ChangeEntityType.ORGANIZATION, ChangeOperation.UPDATED, 1L, null);
+                }
+            });
+            await().atMost(10, TimeUnit.SECONDS).untilAsserted(() -> assertThat(frames)
+                    .extracting(headers -> headers.getFirst(NotificationService.CHANGES_HEADER))
+                    .as("Burst should produce a single message carrying all coalesced changes")
+                    .contains("50"));
+        }
+    }
+
+    @Test
+    @DisplayName("Test steady stream of changes is flushed within the latency bound")
+    public void testLatencyIsBounded() throws Exception {
+        ScheduledExecutorService publisher = Executors.newSingleThreadScheduledExecutor();
+        try (StompTestClient stompClient = StompTestClient.sockJs(port, messagingTemplate)) {
+            List<StompHeaders> frames = new CopyOnWriteArrayList<>();
+            stompClient.subscribe("/topic/all", String.class, (headers, payload) -> frames.add(headers));
+
+            publisher.scheduleAtFixedRate(
+                    () -> changeEventBus.publish(ChangeEntityType.ORGANIZATION, ChangeOperation.UPDATED, 1L, null),
+                    0,
+                    50,
+                    TimeUnit.MILLISECONDS);
+
+            await().atMost(2500, TimeUnit.MILLISECONDS).untilAsserted(() -> assertThat(frames)
+                    .as("Messages should be sent while changes keep arriving")
+                    .hasSizeGreaterThanOrEqualTo(2));
+        } finally {
+            publisher.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Test created coordinates are published as a typed change event")
+    public void testTypedChangeEvent() throws Exception {
+        try (StompTestClient stompClient = StompTestClient.sockJs(port, messagingTemplate)) {
+            List<JsonNode> batches = new CopyOnWriteArrayList<>();
+            stompClient.subscribe(
+                    "/topic/changes", JsonNode.class, (headers, payload) -> batches.add((JsonNode) payload));
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            ResponseEntity<String> response = restTemplate.postForEntity(
+                    "http://localhost:" + port + "/api/coordinates",
+                    new HttpEntity<>(readJsonFile("requests/create-coordinates-request.json"), headers),
+                    String.class);
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            long coordinatesId =
+                    objectMapper.readTree(response.getBody()).get("id").asLong();
+
+            JsonNode event = await().atMost(10, TimeUnit.SECONDS)
+                    .until(() -> findEvent(batches, "COORDINATES", coordinatesId), found -> found != null);
+            assertThat(event.get("operation").asText()).isEqualTo("CREATED");
+            assertThat(event.get("sequence").asLong()).isPositive();
+            assertThat(event.get("payload").get("x").asLong())
+                    .as("Event should carry the created coordinates")
+                    .isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Test changes are routed to per-entity and per-id topics")
+    public void testEntityTopics() throws Exception {
+        try (StompTestClient stompClient = StompTestClient.sockJs(port, messagingTemplate)) {
+            List<JsonNode> coordinatesBatches = new CopyOnWriteArrayList<>();
+            List<JsonNode> locationBatches = new CopyOnWriteArrayList<>();
+            stompClient.subscribe(
+                    "/topic/coordinates",
+                    JsonNode.class,
+                    (headers, payload) -> coordinatesBatches.add((JsonNode) payload));
+            stompClient.subscribe(
+                    "/topic/location", JsonNode.class, (headers, payload) -> locationBatches.add((JsonNode) payload));
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            HttpEntity<String> request =
+                    new HttpEntity<>(readJsonFile("requests/create-coordinates-request.json"), headers);
+            ResponseEntity<String> response =
+                    restTemplate.postForEntity("http://localhost:" + port + "/api/coordinates", request, String.class);
+            long coordinatesId =
+                    objectMapper.readTree(response.getBody()).get("id").asLong();
+
+            List<JsonNode> idBatches = new CopyOnWriteArrayList<>();
+            stompClient.subscribe(
+                    "/topic/coordinates/" + coordinatesId,
+                    JsonNode.class,
+                    (frameHeaders, payload) -> idBatches.add((JsonNode) payload));
+            restTemplate.put("http://localhost:" + port + "/api/coordinates/" + coordinatesId, request);
+
+            await().atMost(10, TimeUnit.SECONDS).untilAsserted(() -> assertThat(operations(idBatches, coordinatesId))
+                    .as("Id topic should receive the update")
+                    .contains("UPDATED"));
+            assertThat(coordinatesBatches)
+                    .as("Entity topic should receive coordinates changes")
+                    .isNotEmpty();
+            for (JsonNode batch : coordinatesBatches) {
+                for (JsonNode event : batch) {
+                    assertThat(event.get("entityType").asText()).isEqualTo("COORDINATES");
+                }
+            }
+            assertThat(locationBatches)
+                    .as("Location topic should not receive coordinates changes")
+                    .isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Test changes are published only after the transaction commits")
+    public void testChangesArePublishedAfterCommit() throws Exception {
+        try (StompTestClient stompClient = StompTestClient.sockJs(port, messagingTemplate)) {
+            List<JsonNode> batches = new CopyOnWriteArrayList<>();
+            stompClient.subscribe(
+                    "/topic/location", JsonNode.class, (headers, payload) -> batches.add((JsonNode) payload));
+
+            transactionTemplate.executeWithoutResult(status -> {
+                changeEventBus.publish(ChangeEntityType.LOCATION, ChangeOperation.DELETED, -1L, null);
+                status.setRollbackOnly();
+            });
+            transactionTemplate.executeWithoutResult(status -> {
+                changeEventBus.publish(ChangeEntityType.LOCATION, ChangeOperation.CREATED, -2L, null);
+                await().during(Duration.ofMillis(500))
+                        .atMost(Duration.ofSeconds(1))
+                        .untilAsserted(() -> assertThat(batches)
+                                .as("Change should not be published before commit")
+                                .isEmpty());
+            });
+
+            await().atMost(10, TimeUnit.SECONDS).until(() -> !batches.isEmpty());
+            List<Long> ids = new ArrayList<>();
+            for (JsonNode batch : batches) {
+                for (JsonNode event : batch) {
+                    ids.add(event.get("id").asLong());
+                }
+            }
+            assertThat(ids).as("Only the committed change should be published").containsExactly(-2L);
+        }
+    }
+
+    private static JsonNode findEvent(List<JsonNode> batches, String entityType, long id) {
+        for (JsonNode batch : batches) {
+            for (JsonNode event : batch) {
+                if (entityType.equals(event.get("entityType").asText())
+                        && event.get("id").asLong() == id) {
+                    return event;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static List<String> operations(List<JsonNode> batches, long id) {
+        List<String> operations = new ArrayList<>();
+        for (JsonNode batch : batches) {
+            for (JsonNode event : batch) {
+                assertThat(event.get("id").asLong()).isEqualTo(id);
+                operations.add(event.get("operation").asText());
+            }
+        }
+        return operations;
+    }
+}
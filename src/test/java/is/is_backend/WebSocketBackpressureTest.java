@@ -0,0 +1,230 @@
+package is.is_backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import is.is_backend.config.WebSocketProperties;
+import is.is_backend.event.ChangeEventBus;
+import is.is_backend.models.enums.OutboundOverflowPolicy;
+import is.is_backend.websocket.BoundedOutboundSession;
+import is.is_backend.websocket.WebSocketSessionMonitor;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+
+public class WebSocketBackpressureTest {
+
+    private static final Duration SEND_TIMEOUT = Duration.ofMillis(200);
+
+    private ThreadPoolTaskExecutor sendExecutor;
+    private WebSocketSessionMonitor monitor;
+    private WebSocketSession slowSession;
+    private List<String> sentMessages;
+    private CountDownLatch sendStarted;
+    private CountDownLatch clientCatchesUp;
+    private CountDownLatch delivered;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        sendExecutor = new ThreadPoolTaskExecutor();
+        sendExecutor.initialize();
+        monitor = new WebSocketSessionMonitor(
+                new WebSocketProperties(),
+                sendExecutor,
+                mock(ThreadPoolTaskScheduler.class),
+                mock(ChangeEventBus.class));
+
+        sentMessages = new CopyOnWriteArrayList<>();
+        sendStarted = new CountDownLatch(1);
+        clientCatchesUp = new CountDownLatch(1);
+        delivered = new CountDownLatch(0);
+        slowSession = mock(WebSocketSession.class);
+        doAnswer(invocation -> {
+                    sendStarted.countDown();
+                    clientCatchesUp.await(10, TimeUnit.SECONDS);
+                    sentMessages.add(((WebSocketMessage<?>) invocation.getArgument(0))
+                            .getPayload()
+                            .toString());
+                    delivered.countDown();
+                    return null;
+                })
+                .when(slowSession)
+                .sendMessage(any());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        sendExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Test slow session keeps only the newest messages within the queue limit")
+    public void testSlowSessionDropsOldestMessages() throws Exception {
+        BoundedOutboundSession session = new BoundedOutboundSession(
+                slowSession, monitor, sendExecutor, 3, OutboundOverflowPolicy.DROP_OLDEST, SEND_TIMEOUT);
+        delivered = new CountDownLatch(4);
+
+        session.sendMessage(messageFrame("0"));
+        assertThat(sendStarted.await(10, TimeUnit.SECONDS)).isTrue();
+        for (int i = 1; i < 10; i++) {
+            session.sendMessage(messageFrame(String.valueOf(i)));
+        }
+
+        assertThat(session.getQueueDepth())
+                .as("Queue should stay within its limit")
+                .isEqualTo(3);
+        assertThat(monitor.getMetrics().getDroppedMessages()).isEqualTo(6);
+
+        clientCatchesUp.countDown();
+        assertThat(delivered.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(sentMessages)
+                .as("Client should receive the message in flight and the newest ones")
+                .containsExactly(payloads("0", "7", "8", "9"));
+    }
+
+    @Test
+    @DisplayName("Test overflow never drops frames other than MESSAGE")
+    public void testControlFramesSurviveOverflow() throws Exception {
+        BoundedOutboundSession session = new BoundedOutboundSession(
+                slowSession, monitor, sendExecutor, 3, OutboundOverflowPolicy.DROP_OLDEST, SEND_TIMEOUT);
+        delivered = new CountDownLatch(5);
+
+        session.sendMessage(messageFrame("0"));
+        assertThat(sendStarted.await(10, TimeUnit.SECONDS)).isTrue();
+        TextMessage receipt = new TextMessage("RECEIPT\nreceipt-id:1\n\n\u0000");
+        session.sendMessage(receipt);
+        for (int i = 1; i < 10; i++) {
+            session.sendMessage(messageFrame(String.valueOf(i)));
+        }
+
+        clientCatchesUp.countDown();
+        assertThat(delivered.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(sentMessages)
+                .as("RECEIPT should be delivered even though older MESSAGE frames were dropped")
+                .containsExactly(
+                        messageFrame("0").getPayload(),
+                        receipt.getPayload(),
+                        messageFrame("7").getPayload(),
+                        messageFrame("8").getPayload(),
+                        messageFrame("9").getPayload());
+    }
+
+    @Test
+    @DisplayName("Test slow session is closed when terminate policy is configured")
+    public void testSlowSessionIsTerminated() throws Exception {
+        BoundedOutboundSession session = new BoundedOutboundSession(
+                slowSession, monitor, sendExecutor, 3, OutboundOverflowPolicy.TERMINATE, SEND_TIMEOUT);
+
+        session.sendMessage(messageFrame("0"));
+        assertThat(sendStarted.await(10, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < 5; i++) {
+            session.sendMessage(new TextMessage("ERROR\nmessage:failed\n\n\u0000"));
+        }
+        verify(slowSession, never()).close(any(CloseStatus.class));
+
+        for (int i = 1; i < 5; i++) {
+            session.sendMessage(messageFrame(String.valueOf(i)));
+        }
+
+        verify(slowSession).close(any(CloseStatus.class));
+        assertThat(monitor.getMetrics().getTerminatedSlowSessions()).isEqualTo(1);
+        assertThat(session.getQueueDepth()).isZero();
+        clientCatchesUp.countDown();
+    }
+
+    @Test
+    @DisplayName("Test delivered outbound frames keep the session active")
+    public void testOutboundFramesRefreshActivity() throws Exception {
+        BoundedOutboundSession session = new BoundedOutboundSession(
+                slowSession, monitor, sendExecutor, 3, OutboundOverflowPolicy.DROP_OLDEST, SEND_TIMEOUT);
+        long connectedAt = session.getLastActivityAt();
+        clientCatchesUp.countDown();
+
+        session.sendMessage(messageFrame("0"));
+
+        await().atMost(10, TimeUnit.SECONDS).untilAsserted(() -> assertThat(session.getLastActivityAt())
+                .as("Delivered frame should count as session activity")
+                .isGreaterThan(connectedAt));
+    }
+
+    @Test
+    @DisplayName("Test stalled sessions outnumbering sender threads do not block other sessions")
+    public void testStalledSessionsReleaseSenderThreads() throws Exception {
+        sendExecutor.shutdown();
+        sendExecutor = new ThreadPoolTaskExecutor();
+        sendExecutor.setCorePoolSize(2);
+        sendExecutor.setMaxPoolSize(2);
+        sendExecutor.initialize();
+        List<WebSocketSession> stalledSessions = List.of(stalledSession(), stalledSession(), stalledSession());
+        for (WebSocketSession stalledSession : stalledSessions) {
+            new BoundedOutboundSession(
+                            stalledSession, monitor, sendExecutor, 3, OutboundOverflowPolicy.DROP_OLDEST, SEND_TIMEOUT)
+                    .sendMessage(messageFrame("stalled"));
+        }
+        clientCatchesUp.countDown();
+        delivered = new CountDownLatch(1);
+
+        new BoundedOutboundSession(
+                        slowSession, monitor, sendExecutor, 3, OutboundOverflowPolicy.DROP_OLDEST, SEND_TIMEOUT)
+                .sendMessage(messageFrame("healthy"));
+
+        assertThat(delivered.await(5, TimeUnit.SECONDS))
+                .as("Healthy session should be served once stalled sends time out")
+                .isTrue();
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> {
+            for (WebSocketSession stalledSession : stalledSessions) {
+                verify(stalledSession).close(any(CloseStatus.class));
+            }
+        });
+    }
+
+    private WebSocketSession stalledSession() throws Exception {
+        Map<String, Object> userProperties = new ConcurrentHashMap<>();
+        jakarta.websocket.Session standardSession = mock(jakarta.websocket.Session.class);
+        when(standardSession.getUserProperties()).thenReturn(userProperties);
+        NativeWebSocketSession session = mock(NativeWebSocketSession.class);
+        when(session.getNativeSession(jakarta.websocket.Session.class)).thenReturn(standardSession);
+        doAnswer(invocation -> {
+                    Thread.sleep((Long) userProperties.getOrDefault(
+                            "org.apache.tomcat.websocket.BLOCKING_SEND_TIMEOUT", TimeUnit.SECONDS.toMillis(10)));
+                    throw new SocketTimeoutException("Blocking send timed out");
+                })
+                .when(session)
+                .sendMessage(any());
+        return session;
+    }
+
+    private TextMessage messageFrame(String body) {
+        return new TextMessage("MESSAGE\ndestination:/topic/organizations\n\n" + body + "\u0000");
+    }
+
+    private String[] payloads(String... bodies) {
+        String[] payloads = new String[bodies.length];
+        for (int i = 0; i < bodies.length; i++) {
+            payloads[i] = messageFrame(bodies[i]).getPayload();
+        }
+        return payloads;
+    }
+}
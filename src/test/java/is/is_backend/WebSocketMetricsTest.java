@@ -0,0 +1,50 @@
+package is.is_backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import is.is_backend.utils.StompTestClient;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class WebSocketMetricsTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    @DisplayName("Test WebSocket metrics report connected sessions")
+    public void testWebSocketMetrics() throws Exception {
+        try (StompTestClient stompClient = StompTestClient.sockJs(port, messagingTemplate)) {
+            stompClient.subscribe("/topic/all", String.class, (headers, payload) -> {});
+
+            ResponseEntity<String> response =
+                    restTemplate.getForEntity("http://localhost:" + port + "/api/websocket/metrics", String.class);
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            JsonNode metrics = objectMapper.readTree(response.getBody());
+            assertThat(metrics.get("activeSessions").asInt()).isPositive();
+            assertThat(metrics.get("queuedMessages").asInt()).isGreaterThanOrEqualTo(0);
+            assertThat(metrics.has("droppedMessages")).isTrue();
+        }
+    }
+}
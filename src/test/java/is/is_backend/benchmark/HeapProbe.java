@@ -0,0 +1,74 @@
+package is.is_backend.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.HashMap;
+import java.util.Map;
+
+public class HeapProbe implements AutoCloseable {
+
+    private static final long SAMPLE_INTERVAL_MILLIS = 50;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final Map<Long, Long> baseline = new HashMap<>();
+    private final Map<Long, Long> latest = new HashMap<>();
+    private final Thread sampler;
+    private long peakHeapBytes;
+    private volatile boolean running = true;
+
+    public HeapProbe() {
+        System.gc();
+        sampleThreads(baseline);
+        sample();
+        sampler = new Thread(this::run, "heap-probe");
+        sampler.setDaemon(true);
+        sampler.start();
+    }
+
+    public synchronized long getAllocatedBytes() {
+        long allocated = 0;
+        for (Map.Entry<Long, Long> thread : latest.entrySet()) {
+            allocated += thread.getValue() - baseline.getOrDefault(thread.getKey(), 0L);
+        }
+        return allocated;
+    }
+
+    public synchronized long getPeakHeapBytes() {
+        return peakHeapBytes;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        sampler.join();
+        sample();
+    }
+
+    private void run() {
+        while (running) {
+            sample();
+            try {
+                Thread.sleep(SAMPLE_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private synchronized void sample() {
+        sampleThreads(latest);
+        peakHeapBytes = Math.max(peakHeapBytes, memory.getHeapMemoryUsage().getUsed());
+    }
+
+    private void sampleThreads(Map<Long, Long> allocations) {
+        long[] ids = threads.getAllThreadIds();
+        long[] allocated = threads.getThreadAllocatedBytes(ids);
+        for (int i = 0; i < ids.length; i++) {
+            if (allocated[i] >= 0) {
+                allocations.put(ids[i], allocated[i]);
+            }
+        }
+    }
+}
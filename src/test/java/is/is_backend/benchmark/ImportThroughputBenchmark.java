@@ -0,0 +1,147 @@
+package is.is_backend.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import is.is_backend.models.ImportHistory;
+import is.is_backend.models.enums.ImportMode;
+import is.is_backend.service.ImportService;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Imports synthetic files of 1k, 100k and 1M rows through {@link ImportService} and reports throughput,
+ * allocations, peak heap and SQL statements. Results are appended to {@code target/benchmark/import-throughput.csv}.
+ * Run with {@code mvn test -Dtest=ImportThroughputBenchmark -Dbenchmark=true}, narrowing the matrix with
+ * {@code -Dbenchmark.rows=1000,100000} and {@code -Dbenchmark.modes=STREAMING,PARALLEL}.
+ */
+@SpringBootTest(
+        properties = {
+            "spring.datasource.url=jdbc:h2:file:./target/benchmark/import-db;DB_CLOSE_ON_EXIT=FALSE",
+            "import.chunk-size=500",
+            "import.memory-budget=64MB"
+        })
+@ActiveProfiles("test")
+@Import(SqlStatementCounter.class)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class ImportThroughputBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportThroughputBenchmark.class);
+
+    private static final int WARM_UP_ROWS = 2000;
+    private static final Path RESULTS = Path.of("target", "benchmark", "import-throughput.csv");
+    private static final String RESULTS_HEADER =
+            "mode,rows,millis,rows_per_second,allocated_mb,allocation_mb_per_second,"
+                    + "peak_heap_mb,round_trips,prepared_statements,batches\n";
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    private static boolean warmedUp;
+
+    static Stream<Arguments> matrix() {
+        String[] modes = System.getProperty("benchmark.modes", "STREAMING").split(",");
+        String[] rows =
+                System.getProperty("benchmark.rows", "1000,100000,1000000").split(",");
+        return Arrays.stream(modes).flatMap(mode -> Arrays.stream(rows)
+                .map(count -> Arguments.of(ImportMode.valueOf(mode.trim()), Integer.parseInt(count.trim()))));
+    }
+
+    @ParameterizedTest(name = "{0} import of {1} rows")
+    @MethodSource("matrix")
+    @DisplayName("Benchmark import throughput")
+    public void benchmarkImport(ImportMode mode, int rows) throws Exception {
+        warmUp();
+        String prefix = "Throughput " + mode + " " + rows;
+        Path file = SyntheticImportFile.writeJsonArray(
+                Path.of("target", "benchmark", "throughput-" + mode + "-" + rows + ".json"), prefix, rows);
+
+        try {
+            sqlStatementCounter.reset();
+            long started = System.nanoTime();
+            ImportHistory history;
+            HeapProbe heapProbe = new HeapProbe();
+            try (heapProbe) {
+                history = importService.importFile(file, mode, "benchmark");
+            }
+            long elapsedMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+
+            assertThat(history.getStatus()).as(history.getMessage()).isEqualTo(ImportHistory.SUCCESS_STATUS);
+            assertThat(history.getCounter()).isEqualTo(rows);
+            report(mode, rows, elapsedMillis, heapProbe);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private void warmUp() throws Exception {
+        if (warmedUp) {
+            return;
+        }
+        Path file = SyntheticImportFile.writeJsonArray(
+                Path.of("target", "benchmark", "warm-up.json"), "Warm up", WARM_UP_ROWS);
+        try {
+            importService.importFile(file, ImportMode.STREAMING, "benchmark");
+            warmedUp = true;
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private void report(ImportMode mode, int rows, long elapsedMillis, HeapProbe heapProbe) throws Exception {
+        double seconds = elapsedMillis / 1000.0;
+        double allocatedMegabytes = heapProbe.getAllocatedBytes() / 1_048_576.0;
+        double peakHeapMegabytes = heapProbe.getPeakHeapBytes() / 1_048_576.0;
+
+        log.info(String.format(
+                Locale.ROOT,
+                "%s import of %d rows in %d ms (%.0f rows/s), allocated: %.1f MB (%.1f MB/s), peak heap: %.1f MB, %s",
+                mode,
+                rows,
+                elapsedMillis,
+                rows / seconds,
+                allocatedMegabytes,
+                allocatedMegabytes / seconds,
+                peakHeapMegabytes,
+                sqlStatementCounter.report(rows)));
+
+        if (Files.notExists(RESULTS)) {
+            Files.writeString(RESULTS, RESULTS_HEADER, StandardCharsets.UTF_8);
+        }
+        Files.writeString(
+                RESULTS,
+                String.format(
+                        Locale.ROOT,
+                        "%s,%d,%d,%.0f,%.1f,%.1f,%.1f,%d,%d,%d%n",
+                        mode,
+                        rows,
+                        elapsedMillis,
+                        rows / seconds,
+                        allocatedMegabytes,
+                        allocatedMegabytes / seconds,
+                        peakHeapMegabytes,
+                        sqlStatementCounter.getRoundTrips(),
+                        sqlStatementCounter.getPreparedStatements(),
+                        sqlStatementCounter.getBatches()),
+                StandardCharsets.UTF_8,
+                StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,96 @@
+package is.is_backend.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import is.is_backend.dto.organizationDto.OrganizationRequestDTO;
+import is.is_backend.models.ImportHistory;
+import is.is_backend.models.enums.ImportMode;
+import is.is_backend.service.ImportService;
+import is.is_backend.service.OrganizationService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Measures JDBC round trips spent per created organization.
+ * Run with {@code mvn test -Dtest=OrganizationWriteBenchmark -Dbenchmark=true}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(SqlStatementCounter.class)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class OrganizationWriteBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(OrganizationWriteBenchmark.class);
+
+    private static final int IMPORT_ROWS = 5000;
+    private static final int SINGLE_ROWS = 500;
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private OrganizationService organizationService;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Benchmark streaming import write path")
+    public void benchmarkStreamingImport() {
+        benchmarkImport("Import", ImportMode.STREAMING);
+    }
+
+    @Test
+    @DisplayName("Benchmark parallel import write path")
+    public void benchmarkParallelImport() {
+        benchmarkImport("Parallel", ImportMode.PARALLEL);
+    }
+
+    @Test
+    @DisplayName("Benchmark single organization creates")
+    public void benchmarkSingleCreates() throws Exception {
+        sqlStatementCounter.reset();
+        long started = System.nanoTime();
+        for (int i = 0; i < SINGLE_ROWS; i++) {
+            organizationService.createOrganization(objectMapper.readValue(
+                    SyntheticImportFile.organization("Single", i), OrganizationRequestDTO.class));
+        }
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        log.info(
+                "Single creates of {} rows in {} ms, {}",
+                SINGLE_ROWS,
+                elapsedMillis,
+                sqlStatementCounter.report(SINGLE_ROWS));
+    }
+
+    private void benchmarkImport(String prefix, ImportMode mode) {
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "benchmark.json", "application/json", SyntheticImportFile.jsonArray(prefix, IMPORT_ROWS));
+
+        sqlStatementCounter.reset();
+        long started = System.nanoTime();
+        ImportHistory history = importService.processStreamingImport(file, mode, "benchmark");
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        assertThat(history.getCounter()).isEqualTo(IMPORT_ROWS);
+        log.info(
+                "{} import of {} rows in {} ms, {}",
+                mode,
+                IMPORT_ROWS,
+                elapsedMillis,
+                sqlStatementCounter.report(IMPORT_ROWS));
+    }
+}
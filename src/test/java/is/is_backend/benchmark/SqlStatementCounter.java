@@ -0,0 +1,106 @@
+package is.is_backend.benchmark;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+
+@TestConfiguration
+public class SqlStatementCounter implements BeanPostProcessor {
+
+    private final AtomicLong roundTrips = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong batchedStatements = new AtomicLong();
+    private final AtomicLong preparedStatements = new AtomicLong();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return proxy(DataSource.class, dataSource);
+        }
+        return bean;
+    }
+
+    public void reset() {
+        roundTrips.set(0);
+        batches.set(0);
+        batchedStatements.set(0);
+        preparedStatements.set(0);
+    }
+
+    public long getRoundTrips() {
+        return roundTrips.get();
+    }
+
+    public long getBatches() {
+        return batches.get();
+    }
+
+    public long getBatchedStatements() {
+        return batchedStatements.get();
+    }
+
+    public long getPreparedStatements() {
+        return preparedStatements.get();
+    }
+
+    public String report(long rows) {
+        return String.format(
+                "round trips: %d (%.2f per row), prepared statements: %d (%.2f per row), batches: %d, batched rows: %d",
+                getRoundTrips(),
+                (double) getRoundTrips() / rows,
+                getPreparedStatements(),
+                (double) getPreparedStatements() / rows,
+                getBatches(),
+                getBatchedStatements());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(Class<T> type, T target) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            count(method);
+            Object result = invoke(method, target, args);
+            return switch (method.getName()) {
+                case "getConnection" -> target instanceof DataSource
+                        ? proxy(Connection.class, (Connection) result)
+                        : result;
+                case "createStatement", "prepareStatement", "prepareCall" -> proxy(
+                        statementType(method), (Statement) result);
+                default -> result;
+            };
+        };
+        return (T) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {type}, handler);
+    }
+
+    private void count(Method method) {
+        switch (method.getName()) {
+            case "prepareStatement", "prepareCall" -> preparedStatements.incrementAndGet();
+            case "execute", "executeQuery", "executeUpdate", "executeLargeUpdate" -> roundTrips.incrementAndGet();
+            case "executeBatch", "executeLargeBatch" -> {
+                roundTrips.incrementAndGet();
+                batches.incrementAndGet();
+            }
+            case "addBatch" -> batchedStatements.incrementAndGet();
+            default -> {}
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Statement> Class<T> statementType(Method method) {
+        return (Class<T>) method.getReturnType();
+    }
+
+    private Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
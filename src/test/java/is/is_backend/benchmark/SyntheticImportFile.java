@@ -0,0 +1,50 @@
+package is.is_backend.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class SyntheticImportFile {
+
+    private static final String ORGANIZATION_TEMPLATE =
+            """
+            {"name":"%1$s %2$d","coordinatesRequest":{"x":%2$d,"y":%3$d.5},"creationDate":"",\
+            "officialAddressRequest":{"zipCode":"%1$s-O%2$d","locationRequest":{"x":%3$d,"y":1,"z":1,"name":"Town %3$d"}},\
+            "annualTurnover":936001,"employeesCount":3,"rating":4,"fullName":"%1$s FULL %2$d","type":"TRUST",\
+            "postalAddressRequest":{"zipCode":"%1$s-P%2$d","locationRequest":{"x":%3$d,"y":1,"z":1,"name":"Town %3$d"}}}""";
+
+    private SyntheticImportFile() {}
+
+    public static String organization(String prefix, int index) {
+        return ORGANIZATION_TEMPLATE.formatted(prefix, index, index % 100);
+    }
+
+    public static byte[] jsonArray(String prefix, int rows) {
+        StringBuilder builder = new StringBuilder(rows * 400);
+        try {
+            writeJsonArray(builder, prefix, rows);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static Path writeJsonArray(Path file, String prefix, int rows) throws IOException {
+        Files.createDirectories(file.getParent());
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writeJsonArray(writer, prefix, rows);
+        }
+        return file;
+    }
+
+    private static void writeJsonArray(Appendable output, String prefix, int rows) throws IOException {
+        output.append('[');
+        for (int i = 0; i < rows; i++) {
+            output.append(i == 0 ? "" : ",\n").append(organization(prefix, i));
+        }
+        output.append(']');
+    }
+}
@@ -0,0 +1,120 @@
+package is.is_backend.utils;
+
+import static org.awaitility.Awaitility.await;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import org.springframework.messaging.converter.ByteArrayMessageConverter;
+import org.springframework.messaging.converter.CompositeMessageConverter;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+/**
+ * STOMP client for integration tests. A broker subscription is confirmed by publishing probe frames to its
+ * destination until one arrives, so tests do not have to sleep until the subscription is registered.
+ */
+public class StompTestClient implements AutoCloseable {
+
+    private static final String PROBE_HEADER = "test-probe";
+
+    private final WebSocketStompClient stompClient;
+    private final String url;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    private StompTestClient(WebSocketStompClient stompClient, String url, SimpMessagingTemplate messagingTemplate) {
+        this.stompClient = stompClient;
+        this.url = url;
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    public static StompTestClient sockJs(int port, SimpMessagingTemplate messagingTemplate) {
+        WebSocketStompClient stompClient = new WebSocketStompClient(
+                new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+        stompClient.setMessageConverter(new CompositeMessageConverter(List.of(
+                new ByteArrayMessageConverter(), new StringMessageConverter(), new MappingJackson2MessageConverter())));
+        return new StompTestClient(stompClient, "ws://localhost:" + port + "/ws", messagingTemplate);
+    }
+
+    public static StompTestClient nativeEndpoint(
+            int port, MessageConverter messageConverter, SimpMessagingTemplate messagingTemplate) {
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(messageConverter);
+        return new StompTestClient(stompClient, "ws://localhost:" + port + "/ws-native", messagingTemplate);
+    }
+
+    public StompSession connect(WebSocketHttpHeaders handshakeHeaders, StompHeaders connectHeaders) throws Exception {
+        return stompClient
+                .connectAsync(url, handshakeHeaders, connectHeaders, new StompSessionHandlerAdapter() {})
+                .get(10, TimeUnit.SECONDS);
+    }
+
+    public StompSession subscribe(String destination, Type payloadType, BiConsumer<StompHeaders, Object> handler)
+            throws Exception {
+        StompSession session = connect(null, new StompHeaders());
+        subscribe(session, destination, payloadType, handler);
+        return session;
+    }
+
+    public void subscribe(
+            StompSession session, String destination, Type payloadType, BiConsumer<StompHeaders, Object> handler) {
+        AtomicBoolean subscribed = new AtomicBoolean();
+        session.subscribe(destination, frameHandler(payloadType, (headers, payload) -> {
+            if (headers.containsKey(PROBE_HEADER)) {
+                subscribed.set(true);
+            } else {
+                handler.accept(headers, payload);
+            }
+        }));
+        await().atMost(10, TimeUnit.SECONDS).until(() -> {
+            sendProbe(destination);
+            return subscribed.get();
+        });
+    }
+
+    /** Subscribes to an application destination that answers the subscription itself. */
+    public void request(StompHeaders subscribeHeaders, Type payloadType, BiConsumer<StompHeaders, Object> handler)
+            throws Exception {
+        connect(null, new StompHeaders()).subscribe(subscribeHeaders, frameHandler(payloadType, handler));
+    }
+
+    @Override
+    public void close() {
+        stompClient.stop();
+    }
+
+    private void sendProbe(String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create();
+        accessor.setNativeHeader(PROBE_HEADER, "true");
+        messagingTemplate.send(destination, MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()));
+    }
+
+    private static StompFrameHandler frameHandler(Type payloadType, BiConsumer<StompHeaders, Object> handler) {
+        return new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return headers.containsKey(PROBE_HEADER) ? byte[].class : payloadType;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                handler.accept(headers, payload);
+            }
+        };
+    }
+}